@@ -0,0 +1,50 @@
+import java.util.function.ToDoubleFunction;
+
+// The engines as the bench package sees them
+public class CalcWorkloads implements bench.Workloads {
+
+    @Override
+    public ToDoubleFunction<String> engine(String name) {
+        return switch (name) {
+            case "Array" -> evaluating(new Unified_Calc.ArrayCalculator());
+            case "LinkedList" -> evaluating(new Unified_Calc.LinkedListCalculator());
+            case "Queue" -> evaluating(new Unified_Calc.QueueCalculator());
+            case "Primitive" -> evaluating(new Unified_Calc.PrimitiveCalculator());
+            case "CompiledCold" -> {
+                // Dropping the plan makes every call tokenize, compile and run
+                Unified_Calc.CompiledCalculator calc = new Unified_Calc.CompiledCalculator();
+                yield expr -> {
+                    calc.plan = null;
+                    return calc.evaluate(expr).value;
+                };
+            }
+            case "ValidExpression" -> Unified_Calc.Calculator::invalidIndex;
+            default -> throw new IllegalArgumentException("Unknown engine: " + name);
+        };
+    }
+
+    static ToDoubleFunction<String> evaluating(Unified_Calc.Calculator calc) {
+        return expr -> calc.evaluate(expr).value;
+    }
+
+    @Override
+    public ToDoubleFunction<double[]> bound(String name, String expr, String... variables) {
+        Unified_Calc.CompiledExpression plan = new Unified_Calc.CompiledCalculator().compile(expr, variables);
+        double[] stack = new double[plan.maxDepth];
+        return switch (name) {
+            case "Compiled" -> values -> plan.run(stack, values);
+            case "Jit" -> {
+                Unified_Calc.JitCode code = Unified_Calc.JitCompiler.compile(plan);
+                // Plans too big for one class file stay on the interpreter, as they do in execute()
+                if (code == null) yield values -> plan.run(stack, values);
+                yield code::run;
+            }
+            default -> throw new IllegalArgumentException("Unknown engine: " + name);
+        };
+    }
+
+    @Override
+    public String generate(int tokens, int maxDepth, int floatPercent, long seed, String... variables) {
+        return Unified_Calc.ExpressionGenerator.generate(tokens, maxDepth, floatPercent, seed, variables);
+    }
+}
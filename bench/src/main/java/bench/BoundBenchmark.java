@@ -0,0 +1,58 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// One formula compiled once and evaluated per row: about a third of the operands are variables,
+// so constant folding cannot reduce the plan and every call runs the full arithmetic. Each call
+// rebinds one variable, the way a formula walks the rows of a table.
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(1)
+public class BoundBenchmark {
+    static final String[] VARIABLES = {"a", "b", "c", "d"};
+
+    @Param({"Compiled", "Jit"})
+    String engine;
+
+    @Param({"10", "100", "1000", "10000", "100000"})
+    int tokens;
+
+    @Param({"0", "8"})
+    int depth;
+
+    @Param({"0", "50"})
+    int floatPercent;
+
+    ToDoubleFunction<double[]> workload;
+    final double[] values = {1.5, 2, 3.25, 4};
+    int row;
+
+    @Setup
+    public void setup() {
+        Workloads workloads = Workloads.load();
+        String expr = workloads.generate(tokens, depth, floatPercent, 31L * tokens + depth + floatPercent, VARIABLES);
+        workload = workloads.bound(engine, expr, VARIABLES);
+    }
+
+    // Values stay between 1 and 64 so no variable divisor is ever zero
+    @Benchmark
+    public double evaluate() {
+        values[row & 3] = 1 + (row++ & 63);
+        return workload.applyAsDouble(values);
+    }
+}
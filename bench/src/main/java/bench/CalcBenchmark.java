@@ -0,0 +1,56 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Throughput and average time for every Unified_Calc engine over generated expressions.
+// Run: mvn -B package -pl bench -am -DskipTests && java -jar bench/target/benchmarks.jar -prof gc
+// Allocation per call is the gc.alloc.rate.norm row that -prof gc adds. The expressions are
+// all constants, which the compiled engines fold to one value, so they are measured here only
+// as CompiledCold (tokenize, compile and run each call); BoundBenchmark covers replaying a plan.
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(1)
+public class CalcBenchmark {
+
+    @Param({"Array", "LinkedList", "Queue", "CompiledCold", "Primitive", "ValidExpression"})
+    String engine;
+
+    @Param({"10", "100", "1000", "10000", "100000"})
+    int tokens;
+
+    @Param({"0", "8"})
+    int depth;
+
+    @Param({"0", "50"})
+    int floatPercent;
+
+    ToDoubleFunction<String> workload;
+    String expr;
+
+    @Setup
+    public void setup() {
+        Workloads workloads = Workloads.load();
+        workload = workloads.engine(engine);
+        expr = workloads.generate(tokens, depth, floatPercent, 31L * tokens + depth + floatPercent);
+    }
+
+    @Benchmark
+    public double evaluate() {
+        return workload.applyAsDouble(expr);
+    }
+}
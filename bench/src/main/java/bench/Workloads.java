@@ -0,0 +1,24 @@
+package bench;
+
+import java.util.function.ToDoubleFunction;
+
+// Unified_Calc sits in the unnamed package, which packaged code cannot import, while JMH will
+// not generate benchmarks for unnamed-package classes. CalcWorkloads bridges the two.
+public interface Workloads {
+    // One calculator per call; the returned function reuses it for every expression
+    ToDoubleFunction<String> engine(String name);
+
+    // expr compiled once over variables; the function evaluates it for one binding of them
+    ToDoubleFunction<double[]> bound(String engine, String expr, String... variables);
+
+    // The generator the core tests use, Unified_Calc.ExpressionGenerator
+    String generate(int tokens, int maxDepth, int floatPercent, long seed, String... variables);
+
+    static Workloads load() {
+        try {
+            return (Workloads) Class.forName("CalcWorkloads").getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("CalcWorkloads is missing from the classpath", e);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+import java.util.Scanner;
+
+// LinkedList-backed front end to the shared Unified_Calc engine
+public class Linkedlistcal {
+    public static void main(String[] args) {
+        Scanner sc = new Scanner(System.in);
+        Unified_Calc.Calculator calc = new Unified_Calc.LinkedListCalculator();
+        calc.trace = new Unified_Calc.ConsoleTrace();
+        Unified_Calc.evaluateLoop(sc, calc);
+        System.out.println("Calculator closed.");
+        sc.close();
+    }
+}
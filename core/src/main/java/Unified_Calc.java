@@ -0,0 +1,2031 @@
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class Unified_Calc {
+
+    static class NumberWrapper {
+        double value;
+        boolean isFloat;
+
+        NumberWrapper(double value, boolean isFloat) {
+            this.value = value;
+            this.isFloat = isFloat;
+        }
+
+        static NumberWrapper fromString(String str) {
+            if (str.contains(".")) {
+                return new NumberWrapper(Double.parseDouble(str), true);
+            } else {
+                return new NumberWrapper(Integer.parseInt(str), false);
+            }
+        }
+
+        static final double[] POWERS_OF_TEN = {
+                1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+                1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+        };
+
+        // Same value as fromString(s.subSequence(from, to)).value without the substring.
+        // Up to 15 digits the mantissa and the power of ten are exact doubles, so one
+        // division is correctly rounded; anything longer or odd goes to the JDK parsers.
+        static double parse(CharSequence s, int from, int to, boolean isFloat) {
+            long mantissa = 0;
+            int digits = 0, scale = 0;
+            boolean seenDot = false;
+            for (int i = from; i < to; i++) {
+                char c = s.charAt(i);
+                if (c >= '0' && c <= '9') {
+                    mantissa = mantissa * 10 + (c - '0');
+                    digits++;
+                    if (seenDot) scale++;
+                } else if (c == '.' && !seenDot) {
+                    seenDot = true;
+                } else {
+                    digits = 0;
+                    break;
+                }
+            }
+            if (digits > 0 && (isFloat ? digits <= 15 : digits <= 9)) {
+                return isFloat ? mantissa / POWERS_OF_TEN[scale] : mantissa;
+            }
+            String text = s.subSequence(from, to).toString();
+            return isFloat ? Double.parseDouble(text) : Integer.parseInt(text);
+        }
+
+        static String format(double value, boolean isFloat) {
+            return isFloat ? String.format("%.2f", value) : String.valueOf((int) value);
+        }
+
+        @Override
+        public String toString() {
+            return format(value, isFloat);
+        }
+    }
+
+    // Receives every operator application; NONE keeps the hot path free of formatting and I/O
+    interface TraceListener {
+        TraceListener NONE = (a, aFloat, op, b, bFloat, result, isFloat) -> { };
+
+        void onApply(double a, boolean aFloat, char op, double b, boolean bFloat, double result, boolean isFloat);
+
+        static String format(double a, boolean aFloat, char op, double b, boolean bFloat, double result, boolean isFloat) {
+            return "Evaluated: " + NumberWrapper.format(a, aFloat) + " " + op + " "
+                    + NumberWrapper.format(b, bFloat) + " = " + NumberWrapper.format(result, isFloat);
+        }
+    }
+
+    static final class ConsoleTrace implements TraceListener {
+        @Override
+        public void onApply(double a, boolean aFloat, char op, double b, boolean bFloat, double result, boolean isFloat) {
+            System.out.println(TraceListener.format(a, aFloat, op, b, bFloat, result, isFloat));
+        }
+    }
+
+    // Keeps the last capacity trace lines, oldest first when drained
+    static final class RingBufferTrace implements TraceListener {
+        final String[] lines;
+        int next, size;
+
+        RingBufferTrace(int capacity) {
+            lines = new String[capacity];
+        }
+
+        @Override
+        public void onApply(double a, boolean aFloat, char op, double b, boolean bFloat, double result, boolean isFloat) {
+            lines[next] = TraceListener.format(a, aFloat, op, b, bFloat, result, isFloat);
+            next = (next + 1) % lines.length;
+            if (size < lines.length) size++;
+        }
+
+        void drainTo(Consumer<String> sink) {
+            int start = (next - size + lines.length) % lines.length;
+            for (int i = 0; i < size; i++) sink.accept(lines[(start + i) % lines.length]);
+            Arrays.fill(lines, null);
+            next = 0;
+            size = 0;
+        }
+    }
+
+    static abstract class Calculator {
+        TraceListener trace = TraceListener.NONE;
+
+        static int precedence(char op) {
+            return switch (op) {
+                case '+', '-' -> 1;
+                case '*', '/', '%' -> 2;
+                default -> -1;
+            };
+        }
+
+        boolean ValidExpression(String expr) {
+            return invalidIndex(expr) < 0;
+        }
+
+        // One scan covering every ValidExpression rule; returns the first offending index or -1
+        static int invalidIndex(CharSequence expr) {
+            int n = expr.length();
+            if (n == 0) return 0;
+            // Cannot start with a binary operator (unary minus is let through)
+            if ("+*/%".indexOf(expr.charAt(0)) != -1) return 0;
+
+            int balance = 0, outermostOpen = -1;
+            boolean dotInNumber = false;
+            char prev = 0, lastToken = 0;
+            for (int i = 0; i < n; i++) {
+                char ch = expr.charAt(i);
+                // No number right after ')', as in (1+2)3
+                if (lastToken == ')' && startsNumber(ch)) return i;
+                if (!Character.isWhitespace(ch)) lastToken = ch;
+                if (ch >= '0' && ch <= '9') {
+                    prev = ch;
+                    continue;
+                }
+                // Only digits, operators, parentheses, dot and whitespace
+                if ("+-*/%().".indexOf(ch) == -1 && !Character.isWhitespace(ch)) return i;
+                // No repeated operator or dot such as ++ or ..
+                if (ch == prev && "+-*/%.".indexOf(ch) != -1) return i;
+                // No second decimal point inside one number
+                if (ch == '.') {
+                    if (dotInNumber) return i;
+                    dotInNumber = true;
+                } else {
+                    dotInNumber = false;
+                }
+                if (ch == '(') {
+                    if (balance++ == 0) outermostOpen = i;
+                } else if (ch == ')' && --balance < 0) {
+                    return i;
+                }
+                prev = ch;
+            }
+            // Cannot end with an operator or dot
+            if ("+-*/%.".indexOf(expr.charAt(n - 1)) != -1) return n - 1;
+            return balance == 0 ? -1 : outermostOpen;
+        }
+
+        // Same as replaceAll("\\s+", "") but returns the input untouched when there is nothing to strip
+        static String normalize(String expr) {
+            int i = 0, n = expr.length();
+            while (i < n && !Character.isWhitespace(expr.charAt(i))) i++;
+            if (i == n) return expr;
+            StringBuilder sb = new StringBuilder(n).append(expr, 0, i);
+            for (; i < n; i++) {
+                char ch = expr.charAt(i);
+                if (!Character.isWhitespace(ch)) sb.append(ch);
+            }
+            return sb.toString();
+        }
+
+        // The 2(3+4) -> 2*(3+4) rule: a '(' right after a number (5. included) or ')' multiplies
+        static boolean impliesMultiply(CharSequence expr, int i) {
+            return i > 0 && impliesMultiply(expr.charAt(i - 1));
+        }
+
+        static boolean impliesMultiply(char prev) {
+            return (prev >= '0' && prev <= '9') || prev == '.' || prev == ')';
+        }
+
+        static boolean startsNumber(char ch) {
+            return (ch >= '0' && ch <= '9') || ch == '.';
+        }
+
+        // (2)3 would leave two values with no operator between them; every engine rejects it
+        static void checkNumberStart(char prev) {
+            if (prev == ')') throw new RuntimeException("Malformed expression");
+        }
+
+        abstract NumberWrapper evaluate(String expr);
+
+        // Same tokenizing and precedence rules as evaluate, but emits a postfix plan instead of computing
+        CompiledExpression compile(String expr) {
+            return compile(expr, CompiledExpression.NO_VARIABLES);
+        }
+
+        // Names like price or qty_2 become LOAD slots, numbered by their position in variables.
+        // Variables count as floats, so a plan that uses any of them formats as one.
+        CompiledExpression compile(String expr, String... variables) {
+            int n = expr.length();
+            char[] code = new char[n];
+            int[] args = new int[n];
+            double[] constants = new double[n];
+            char[] ops = new char[n];
+            int pc = 0, constCount = 0, opTop = -1, depth = 0, maxDepth = 0;
+            boolean isFloat = false;
+
+            for (int i = 0; i < n; ) {
+                char ch = expr.charAt(i);
+                if (Character.isDigit(ch) || ch == '.') {
+                    if (i > 0) checkNumberStart(expr.charAt(i - 1));
+                    int j = i;
+                    while (j < n && (Character.isDigit(expr.charAt(j)) || expr.charAt(j) == '.')) j++;
+                    NumberWrapper num = NumberWrapper.fromString(expr.substring(i, j));
+                    isFloat |= num.isFloat;
+                    constants[constCount] = num.value;
+                    code[pc] = CompiledExpression.PUSH;
+                    args[pc++] = constCount++;
+                    maxDepth = Math.max(maxDepth, ++depth);
+                    i = j;
+                } else if (Character.isLetter(ch) || ch == '_') {
+                    int j = i;
+                    while (j < n && (Character.isLetterOrDigit(expr.charAt(j)) || expr.charAt(j) == '_')) j++;
+                    String name = expr.substring(i, j);
+                    int slot = Arrays.asList(variables).indexOf(name);
+                    if (slot < 0) throw new RuntimeException("Unknown variable '" + name + "'");
+                    isFloat = true;
+                    code[pc] = CompiledExpression.LOAD;
+                    args[pc++] = slot;
+                    maxDepth = Math.max(maxDepth, ++depth);
+                    i = j;
+                } else if (ch == '(') {
+                    if (impliesMultiply(expr, i)) {
+                        while (opTop >= 0 && precedence(ops[opTop]) >= precedence('*')) {
+                            if (--depth < 1) throw new RuntimeException("Malformed expression");
+                            code[pc++] = ops[opTop--];
+                        }
+                        ops[++opTop] = '*';
+                    }
+                    ops[++opTop] = ch;
+                    i++;
+                } else if (ch == ')') {
+                    while (opTop >= 0 && ops[opTop] != '(') {
+                        if (--depth < 1) throw new RuntimeException("Malformed expression");
+                        code[pc++] = ops[opTop--];
+                    }
+                    if (opTop >= 0) opTop--;
+                    else throw new RuntimeException("Mismatched parentheses");
+                    i++;
+                } else if ("+-*/%".indexOf(ch) != -1) {
+                    while (opTop >= 0 && precedence(ops[opTop]) >= precedence(ch)) {
+                        if (--depth < 1) throw new RuntimeException("Malformed expression");
+                        code[pc++] = ops[opTop--];
+                    }
+                    ops[++opTop] = ch;
+                    i++;
+                } else {
+                    throw new RuntimeException("Invalid character encountered: '" + ch + "'");
+                }
+            }
+
+            while (opTop >= 0) {
+                if (ops[opTop] == '(' || ops[opTop] == ')') throw new RuntimeException("Mismatched parentheses");
+                if (--depth < 1) throw new RuntimeException("Malformed expression");
+                code[pc++] = ops[opTop--];
+            }
+            if (depth != 1) throw new RuntimeException("Malformed expression");
+
+            return new CompiledExpression(expr, variables.clone(), Arrays.copyOf(code, pc), Arrays.copyOf(args, pc),
+                    Arrays.copyOf(constants, constCount), isFloat, maxDepth).optimize();
+        }
+
+        static double apply(char op, double a, double b) {
+            return switch (op) {
+                case '+' -> a + b;
+                case '-' -> a - b;
+                case '*' -> a * b;
+                case '/' -> divide(a, b);
+                case '%' -> remainder(a, b);
+                default -> throw new RuntimeException("Unknown operator");
+            };
+        }
+
+        static double divide(double a, double b) {
+            if (b == 0) throw new ArithmeticException("Division by zero.");
+            return a / b;
+        }
+
+        static double remainder(double a, double b) {
+            if (b == 0) throw new ArithmeticException("Modulo by zero.");
+            return a % b;
+        }
+    }
+
+    // Shunting-yard evaluation over value and operator stacks; subclasses choose the stack storage
+    static abstract class StackCalculator extends Calculator {
+        abstract void pushVal(NumberWrapper val);
+        abstract NumberWrapper popVal();
+        abstract void pushOp(char ch);
+        abstract char popOp();
+        abstract char peekOp();
+        abstract boolean isEmptyOp();
+        abstract void clear();
+
+        NumberWrapper evaluate(String expr) {
+            clear();
+
+            for (int i = 0; i < expr.length(); ) {
+                char ch = expr.charAt(i);
+                if (Character.isDigit(ch) || ch == '.') {
+                    if (i > 0) checkNumberStart(expr.charAt(i - 1));
+                    int j = i;
+                    while (j < expr.length() && (Character.isDigit(expr.charAt(j)) || expr.charAt(j) == '.')) j++;
+                    pushVal(NumberWrapper.fromString(expr.substring(i, j)));
+                    i = j;
+                } else if (ch == '(') {
+                    if (impliesMultiply(expr, i)) {
+                        while (!isEmptyOp() && precedence(peekOp()) >= precedence('*')) applyTopOperator();
+                        pushOp('*');
+                    }
+                    pushOp(ch);
+                    i++;
+                } else if (ch == ')') {
+                    while (!isEmptyOp() && peekOp() != '(') applyTopOperator();
+                    if (!isEmptyOp()) popOp();
+                    else throw new RuntimeException("Mismatched parentheses");
+                    i++;
+                } else if ("+-*/%".indexOf(ch) != -1) {
+                    while (!isEmptyOp() && precedence(peekOp()) >= precedence(ch)) applyTopOperator();
+                    pushOp(ch);
+                    i++;
+                } else {
+                    throw new RuntimeException("Invalid character encountered: '" + ch + "'");
+                }
+            }
+
+            while (!isEmptyOp()) {
+                if (peekOp() == '(' || peekOp() == ')') throw new RuntimeException("Mismatched parentheses");
+                applyTopOperator();
+            }
+
+            return popVal();
+        }
+
+        void applyTopOperator() {
+            char op = popOp();
+            NumberWrapper b = popVal();
+            NumberWrapper a = popVal();
+
+            boolean isFloat = a.isFloat || b.isFloat;
+            double result = apply(op, a.value, b.value);
+
+            trace.onApply(a.value, a.isFloat, op, b.value, b.isFloat, result, isFloat);
+            pushVal(new NumberWrapper(result, isFloat));
+        }
+    }
+
+    static class ArrayCalculator extends StackCalculator {
+        static final int DEFAULT_CAPACITY = 100;
+        final int initialCapacity;
+        final boolean shrinkOnClear;
+        NumberWrapper[] valueStack;
+        int valTop = -1;
+        char[] opStack;
+        int opTop = -1;
+
+        ArrayCalculator() { this(DEFAULT_CAPACITY, false); }
+
+        // Stacks double when full; with shrinkOnClear they drop back to initialCapacity between
+        // expressions so one huge formula does not pin its arrays for the rest of the run
+        ArrayCalculator(int initialCapacity, boolean shrinkOnClear) {
+            if (initialCapacity < 1) throw new IllegalArgumentException("Capacity must be positive");
+            this.initialCapacity = initialCapacity;
+            this.shrinkOnClear = shrinkOnClear;
+            valueStack = new NumberWrapper[initialCapacity];
+            opStack = new char[initialCapacity];
+        }
+
+        void pushVal(NumberWrapper val) {
+            if (++valTop == valueStack.length) valueStack = Arrays.copyOf(valueStack, valTop * 2);
+            valueStack[valTop] = val;
+        }
+        // Nulls the slot so popped results can be collected; an empty pop throws before valTop moves
+        NumberWrapper popVal() {
+            NumberWrapper val = valueStack[valTop];
+            valueStack[valTop--] = null;
+            return val;
+        }
+        void pushOp(char ch) {
+            if (++opTop == opStack.length) opStack = Arrays.copyOf(opStack, opTop * 2);
+            opStack[opTop] = ch;
+        }
+        char popOp() { return opStack[opTop--]; }
+        char peekOp() { return opStack[opTop]; }
+        boolean isEmptyOp() { return opTop == -1; }
+        // After a failed evaluation the stacks still hold the operands that were left over
+        void clear() {
+            int used = Math.max(valTop + 1, 0);
+            valTop = -1;
+            opTop = -1;
+            if (shrinkOnClear && valueStack.length > initialCapacity) valueStack = new NumberWrapper[initialCapacity];
+            else Arrays.fill(valueStack, 0, used, null);
+            if (shrinkOnClear && opStack.length > initialCapacity) opStack = new char[initialCapacity];
+        }
+    }
+
+    // Flat postfix program: PUSH loads constants[args[pc]], LOAD loads variable values[args[pc]],
+    // any other code is a binary operator. isFloat is known up front because every operator ORs
+    // the flags of its operands.
+    static final class CompiledExpression {
+        static final char PUSH = '#';
+        static final char LOAD = '$';
+        static final String[] NO_VARIABLES = {};
+        static final double[] NO_VALUES = {};
+
+        final String source;
+        final String[] variables;
+        final char[] code;
+        final int[] args;
+        final double[] constants;
+        final boolean isFloat;
+        final int maxDepth;
+        // execute(values) switches to JitCompiler output after JitCalculator.HOT_THRESHOLD calls.
+        // Both fields are written without locking: a lost count only delays the switch, and the
+        // generated class has no state of its own.
+        int runs;
+        JitCode jit;
+
+        CompiledExpression(String source, String[] variables, char[] code, int[] args, double[] constants,
+                           boolean isFloat, int maxDepth) {
+            this.source = source;
+            this.variables = variables;
+            this.code = code;
+            this.args = args;
+            this.constants = constants;
+            this.isFloat = isFloat;
+            this.maxDepth = maxDepth;
+        }
+
+        // stack must hold at least maxDepth values; it is only used as scratch space
+        double run(double[] stack) {
+            return run(stack, NO_VALUES);
+        }
+
+        // values[i] is the current value of variables[i]; rebinding is just writing the array
+        double run(double[] stack, double[] values) {
+            int top = -1;
+            for (int pc = 0; pc < code.length; pc++) {
+                char op = code[pc];
+                if (op == PUSH) {
+                    stack[++top] = constants[args[pc]];
+                } else if (op == LOAD) {
+                    stack[++top] = values[args[pc]];
+                } else {
+                    double b = stack[top--];
+                    stack[top] = Calculator.apply(op, stack[top], b);
+                }
+            }
+            return stack[0];
+        }
+
+        double run() {
+            return run(new double[maxDepth]);
+        }
+
+        NumberWrapper execute() {
+            return execute(NO_VALUES);
+        }
+
+        NumberWrapper execute(double... values) {
+            if (values.length < variables.length) throw new IllegalArgumentException("Expected " + variables.length + " variable values");
+            JitCode code = jit;
+            if (code != null) return new NumberWrapper(code.run(values), isFloat);
+            if (runs < JitCalculator.HOT_THRESHOLD && ++runs == JitCalculator.HOT_THRESHOLD) jit = JitCompiler.compile(this);
+            return new NumberWrapper(run(new double[maxDepth], values), isFloat);
+        }
+
+        int variableIndex(String name) {
+            return Arrays.asList(variables).indexOf(name);
+        }
+
+        // Folds constant subexpressions and drops exact identities (x*1, 1*x, x/1, x-0), giving
+        // bit-identical results. A constant division or modulo by zero is left in place so it still
+        // throws when run, and x+0 is kept because it turns -0.0 into 0.0. isFloat never changes.
+        // Parentheses are already gone once the plan is postfix.
+        CompiledExpression optimize() {
+            int n = code.length;
+            char[] out = new char[n];
+            int[] outArgs = new int[n];
+            double[] outValues = new double[n];
+            int[] starts = new int[maxDepth];
+            boolean[] isConst = new boolean[maxDepth];
+            double[] constValue = new double[maxDepth];
+            int top = -1, len = 0;
+
+            for (int pc = 0; pc < n; pc++) {
+                char op = code[pc];
+                if (op == PUSH || op == LOAD) {
+                    starts[++top] = len;
+                    isConst[top] = op == PUSH;
+                    constValue[top] = op == PUSH ? constants[args[pc]] : 0;
+                    out[len] = op;
+                    outArgs[len] = args[pc];
+                    outValues[len++] = constValue[top];
+                    continue;
+                }
+                int b = top--, a = top;
+                if (isConst[a] && isConst[b] && !((op == '/' || op == '%') && constValue[b] == 0)) {
+                    constValue[a] = Calculator.apply(op, constValue[a], constValue[b]);
+                    len = starts[a];
+                    out[len] = PUSH;
+                    outValues[len++] = constValue[a];
+                } else if (isConst[b] && isRightIdentity(op, constValue[b])) {
+                    len = starts[b];
+                } else if (isConst[a] && isLeftIdentity(op, constValue[a])) {
+                    int segment = len - starts[b];
+                    System.arraycopy(out, starts[b], out, starts[a], segment);
+                    System.arraycopy(outArgs, starts[b], outArgs, starts[a], segment);
+                    System.arraycopy(outValues, starts[b], outValues, starts[a], segment);
+                    len = starts[a] + segment;
+                    isConst[a] = isConst[b];
+                    constValue[a] = constValue[b];
+                } else {
+                    out[len++] = op;
+                    isConst[a] = false;
+                }
+            }
+
+            // Rebuild the constant pool from the surviving PUSHes and recount the stack depth
+            double[] pool = new double[len];
+            int poolSize = 0, depth = 0, newMaxDepth = 0;
+            for (int pc = 0; pc < len; pc++) {
+                if (out[pc] == PUSH) {
+                    pool[poolSize] = outValues[pc];
+                    outArgs[pc] = poolSize++;
+                }
+                depth += out[pc] == PUSH || out[pc] == LOAD ? 1 : -1;
+                newMaxDepth = Math.max(newMaxDepth, depth);
+            }
+            return new CompiledExpression(source, variables, Arrays.copyOf(out, len), Arrays.copyOf(outArgs, len),
+                    Arrays.copyOf(pool, poolSize), isFloat, newMaxDepth);
+        }
+
+        // -0.0 is the additive identity that is exact for every x, +0.0 is not
+        static boolean isRightIdentity(char op, double v) {
+            return switch (op) {
+                case '*', '/' -> v == 1.0;
+                case '-' -> Double.doubleToRawLongBits(v) == 0L;
+                case '+' -> Double.doubleToRawLongBits(v) == Double.doubleToRawLongBits(-0.0);
+                default -> false;
+            };
+        }
+
+        static boolean isLeftIdentity(char op, double v) {
+            return switch (op) {
+                case '*' -> v == 1.0;
+                case '+' -> Double.doubleToRawLongBits(v) == Double.doubleToRawLongBits(-0.0);
+                default -> false;
+            };
+        }
+
+        static final int COLUMN_BLOCK = 1024;
+
+        // Evaluates rows 0..rows-1 where columns[i][row] is the value of variables[i]. Works one
+        // operator at a time over blocks of COLUMN_BLOCK rows, so every step is a tight loop over
+        // cache-resident arrays that HotSpot can vectorize. A zero divisor in any row throws.
+        double[] evaluateColumns(double[][] columns, int rows) {
+            if (columns.length < variables.length) throw new IllegalArgumentException("Expected " + variables.length + " columns");
+            for (int v = 0; v < variables.length; v++) {
+                if (columns[v].length < rows) throw new IllegalArgumentException("Column " + variables[v] + " is shorter than " + rows);
+            }
+            double[] result = new double[rows];
+            double[][] stack = new double[maxDepth][Math.min(COLUMN_BLOCK, rows)];
+            for (int from = 0; from < rows; from += COLUMN_BLOCK) {
+                int len = Math.min(COLUMN_BLOCK, rows - from);
+                int top = -1;
+                for (int pc = 0; pc < code.length; pc++) {
+                    char op = code[pc];
+                    if (op == PUSH) {
+                        Arrays.fill(stack[++top], 0, len, constants[args[pc]]);
+                    } else if (op == LOAD) {
+                        System.arraycopy(columns[args[pc]], from, stack[++top], 0, len);
+                    } else {
+                        double[] b = stack[top--];
+                        applyColumn(op, stack[top], b, len);
+                    }
+                }
+                System.arraycopy(stack[0], 0, result, from, len);
+            }
+            return result;
+        }
+
+        // a[i] = a[i] op b[i]; zero checks run as a separate pass so the arithmetic loops stay branch-free
+        static void applyColumn(char op, double[] a, double[] b, int len) {
+            switch (op) {
+                case '+' -> { for (int i = 0; i < len; i++) a[i] += b[i]; }
+                case '-' -> { for (int i = 0; i < len; i++) a[i] -= b[i]; }
+                case '*' -> { for (int i = 0; i < len; i++) a[i] *= b[i]; }
+                case '/' -> {
+                    for (int i = 0; i < len; i++) if (b[i] == 0) throw new ArithmeticException("Division by zero.");
+                    for (int i = 0; i < len; i++) a[i] /= b[i];
+                }
+                case '%' -> {
+                    for (int i = 0; i < len; i++) if (b[i] == 0) throw new ArithmeticException("Modulo by zero.");
+                    for (int i = 0; i < len; i++) a[i] %= b[i];
+                }
+                default -> throw new RuntimeException("Unknown operator");
+            }
+        }
+
+        // Rough heap footprint, used to bound plan caches by size
+        long estimatedBytes() {
+            return 64 + 2L * source.length() + 6L * code.length + 8L * constants.length;
+        }
+    }
+
+    // Compiles each new expression once and replays the plan while the same text keeps coming in.
+    // Plans run untraced, so a trace listener set on this engine sees nothing.
+    static class CompiledCalculator extends Calculator {
+        final BoundedCache<CompiledExpression> plans;
+        CompiledExpression plan;
+        double[] scratch = new double[0];
+
+        CompiledCalculator() { this(null); }
+
+        // With a plan cache, any expression seen before (by any calculator sharing the cache) skips
+        // tokenizing and number parsing entirely
+        CompiledCalculator(BoundedCache<CompiledExpression> plans) {
+            this.plans = plans;
+        }
+
+        static BoundedCache<CompiledExpression> planCache(int maxEntries, long maxBytes) {
+            return new BoundedCache<>(maxEntries, maxBytes, CompiledExpression::estimatedBytes);
+        }
+
+        @Override
+        NumberWrapper evaluate(String expr) {
+            if (plan == null || !plan.source.equals(expr)) {
+                plan = plans == null ? null : plans.get(expr);
+                if (plan == null) {
+                    plan = compile(expr);
+                    if (plans != null) plans.put(expr, plan);
+                }
+                if (scratch.length < plan.maxDepth) scratch = new double[plan.maxDepth];
+            }
+            return new NumberWrapper(plan.run(scratch), plan.isFloat);
+        }
+    }
+
+    // Shunting-yard over parallel primitive arrays (value, isFloat flag, operator) that are
+    // reused between evaluations, so a steady-state evaluation allocates no objects
+    static final class PrimitiveStack {
+        double[] values;
+        boolean[] floats;
+        int valTop = -1;
+        char[] ops;
+        int opTop = -1;
+        boolean resultFloat;
+        TraceListener trace = TraceListener.NONE;
+
+        static final int READ_BUFFER_SIZE = 8192;
+        char[] readBuffer;
+        StringBuilder numberText;
+
+        PrimitiveStack(int capacity) {
+            values = new double[capacity];
+            floats = new boolean[capacity];
+            ops = new char[capacity];
+        }
+
+        void clear() { valTop = -1; opTop = -1; }
+
+        void pushValue(double value, boolean isFloat) {
+            if (++valTop == values.length) {
+                values = Arrays.copyOf(values, valTop * 2);
+                floats = Arrays.copyOf(floats, valTop * 2);
+            }
+            values[valTop] = value;
+            floats[valTop] = isFloat;
+        }
+
+        void pushOp(char op) {
+            if (++opTop == ops.length) ops = Arrays.copyOf(ops, opTop * 2);
+            ops[opTop] = op;
+        }
+
+        void close() {
+            while (opTop >= 0 && ops[opTop] != '(') applyTop();
+            if (opTop < 0) throw new RuntimeException("Mismatched parentheses");
+            opTop--;
+        }
+
+        void operator(char op) {
+            int prec = Calculator.precedence(op);
+            while (opTop >= 0 && Calculator.precedence(ops[opTop]) >= prec) applyTop();
+            pushOp(op);
+        }
+
+        double finish() {
+            while (opTop >= 0) {
+                if (ops[opTop] == '(') throw new RuntimeException("Mismatched parentheses");
+                applyTop();
+            }
+            if (valTop < 0) throw new RuntimeException("Malformed expression");
+            resultFloat = floats[valTop];
+            return values[valTop--];
+        }
+
+        void applyTop() {
+            char op = ops[opTop--];
+            if (valTop < 1) throw new RuntimeException("Malformed expression");
+            double b = values[valTop];
+            boolean bFloat = floats[valTop--];
+            double a = values[valTop];
+            boolean aFloat = floats[valTop];
+            values[valTop] = Calculator.apply(op, a, b);
+            floats[valTop] = aFloat | bFloat;
+            trace.onApply(a, aFloat, op, b, bFloat, values[valTop], floats[valTop]);
+        }
+
+        // Tokenizes like Calculator.evaluate; the 2(3+4) -> 2*(3+4) rewrite happens inline
+        double evaluate(CharSequence expr) {
+            clear();
+            int n = expr.length();
+            for (int i = 0; i < n; ) {
+                char ch = expr.charAt(i);
+                if (Character.isDigit(ch) || ch == '.') {
+                    if (i > 0) Calculator.checkNumberStart(expr.charAt(i - 1));
+                    int j = i;
+                    boolean isFloat = false;
+                    while (j < n && (Character.isDigit(expr.charAt(j)) || expr.charAt(j) == '.')) {
+                        if (expr.charAt(j) == '.') isFloat = true;
+                        j++;
+                    }
+                    pushValue(NumberWrapper.parse(expr, i, j, isFloat), isFloat);
+                    i = j;
+                } else {
+                    symbol(ch, i > 0 ? expr.charAt(i - 1) : 0);
+                    i++;
+                }
+            }
+            return finish();
+        }
+
+        // Streams the expression through a fixed buffer, so memory is bounded by nesting depth and
+        // the longest number rather than by input length. Whitespace is skipped entirely, which
+        // gives the same result as evaluating Calculator.normalize of the whole text.
+        double evaluate(Reader in) throws IOException {
+            clear();
+            if (readBuffer == null) {
+                readBuffer = new char[READ_BUFFER_SIZE];
+                numberText = new StringBuilder();
+            }
+            numberText.setLength(0);
+            boolean isFloat = false;
+            char prev = 0;
+            for (int n; (n = in.read(readBuffer)) != -1; ) {
+                for (int i = 0; i < n; i++) {
+                    char ch = readBuffer[i];
+                    if (Character.isWhitespace(ch)) continue;
+                    if (Character.isDigit(ch) || ch == '.') {
+                        if (numberText.length() == 0) Calculator.checkNumberStart(prev);
+                        numberText.append(ch);
+                        isFloat |= ch == '.';
+                    } else {
+                        if (numberText.length() > 0) {
+                            pushValue(NumberWrapper.parse(numberText, 0, numberText.length(), isFloat), isFloat);
+                            numberText.setLength(0);
+                            isFloat = false;
+                        }
+                        symbol(ch, prev);
+                    }
+                    prev = ch;
+                }
+            }
+            if (numberText.length() > 0) pushValue(NumberWrapper.parse(numberText, 0, numberText.length(), isFloat), isFloat);
+            return finish();
+        }
+
+        // Everything that is not part of a number; prev is the character just before ch
+        void symbol(char ch, char prev) {
+            if (ch == '(') {
+                if (Calculator.impliesMultiply(prev)) operator('*');
+                pushOp(ch);
+            } else if (ch == ')') {
+                close();
+            } else if ("+-*/%".indexOf(ch) != -1) {
+                operator(ch);
+            } else {
+                throw new RuntimeException("Invalid character encountered: '" + ch + "'");
+            }
+        }
+    }
+
+    static class PrimitiveCalculator extends Calculator {
+        final PrimitiveStack stack = new PrimitiveStack(64);
+
+        // Raw result for callers that want to stay allocation-free; the flag is in stack.resultFloat
+        double evaluateValue(CharSequence expr) {
+            stack.trace = trace;
+            return stack.evaluate(expr);
+        }
+
+        @Override
+        NumberWrapper evaluate(String expr) {
+            stack.trace = trace;
+            double value = stack.evaluate(expr);
+            return new NumberWrapper(value, stack.resultFloat);
+        }
+
+        NumberWrapper evaluate(Reader in) throws IOException {
+            stack.trace = trace;
+            double value = stack.evaluate(in);
+            return new NumberWrapper(value, stack.resultFloat);
+        }
+
+        NumberWrapper evaluate(ReadableByteChannel in) throws IOException {
+            return evaluate(Channels.newReader(in, StandardCharsets.UTF_8));
+        }
+    }
+
+    // Safe to share between any number of threads, virtual ones included: it keeps no
+    // stacks of its own and every evaluate works on scratch arrays confined to that call
+    static final class ConcurrentCalculator extends Calculator {
+        static final int SCRATCH_CAPACITY = 16;
+
+        @Override
+        NumberWrapper evaluate(String expr) {
+            PrimitiveStack stack = new PrimitiveStack(SCRATCH_CAPACITY);
+            stack.trace = trace;
+            double value = stack.evaluate(expr);
+            return new NumberWrapper(value, stack.resultFloat);
+        }
+    }
+
+    // LRU cache bounded by entry count and by estimated bytes. Keys are spread over segments,
+    // each an access-ordered LinkedHashMap behind its own lock, so threads working on
+    // different expressions rarely contend.
+    static final class BoundedCache<V> {
+        static final int SEGMENTS = 16;
+
+        final Segment<V>[] segments;
+        final ToLongFunction<V> weigher;
+        final LongAdder hits = new LongAdder();
+        final LongAdder misses = new LongAdder();
+        final LongAdder evictions = new LongAdder();
+
+        // weigher estimates the bytes held by a value; the key's chars are added on top.
+        // Generic arrays cannot be created directly, hence the raw Segment[] cast.
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        BoundedCache(int maxEntries, long maxBytes, ToLongFunction<V> weigher) {
+            if (maxEntries < 1 || maxBytes < 1) throw new IllegalArgumentException("Cache limits must be positive");
+            int count = Math.min(SEGMENTS, maxEntries);
+            segments = new Segment[count];
+            for (int i = 0; i < count; i++) {
+                segments[i] = new Segment<>(maxEntries / count + (i < maxEntries % count ? 1 : 0),
+                        maxBytes / count + (i < maxBytes % count ? 1 : 0));
+            }
+            this.weigher = weigher;
+        }
+
+        V get(String key) {
+            Segment<V> segment = segmentFor(key);
+            V value;
+            synchronized (segment) {
+                value = segment.get(key);
+            }
+            (value == null ? misses : hits).increment();
+            return value;
+        }
+
+        void put(String key, V value) {
+            long weight = 2L * key.length() + weigher.applyAsLong(value);
+            Segment<V> segment = segmentFor(key);
+            synchronized (segment) {
+                V old = segment.put(key, value);
+                if (old != null) segment.bytes -= 2L * key.length() + weigher.applyAsLong(old);
+                segment.bytes += weight;
+                Iterator<Map.Entry<String, V>> eldest = segment.entrySet().iterator();
+                while ((segment.size() > segment.maxEntries || segment.bytes > segment.maxBytes) && eldest.hasNext()) {
+                    Map.Entry<String, V> e = eldest.next();
+                    segment.bytes -= 2L * e.getKey().length() + weigher.applyAsLong(e.getValue());
+                    eldest.remove();
+                    evictions.increment();
+                }
+            }
+        }
+
+        int size() {
+            int size = 0;
+            for (Segment<V> segment : segments) {
+                synchronized (segment) {
+                    size += segment.size();
+                }
+            }
+            return size;
+        }
+
+        void clear() {
+            for (Segment<V> segment : segments) {
+                synchronized (segment) {
+                    segment.clear();
+                    segment.bytes = 0;
+                }
+            }
+        }
+
+        long hitCount() { return hits.sum(); }
+        long missCount() { return misses.sum(); }
+        long evictionCount() { return evictions.sum(); }
+
+        String stats() {
+            return "entries=" + size() + " hits=" + hitCount() + " misses=" + missCount() + " evictions=" + evictionCount();
+        }
+
+        private Segment<V> segmentFor(String key) {
+            int h = key.hashCode();
+            return segments[((h ^ (h >>> 16)) & 0x7fffffff) % segments.length];
+        }
+
+        static final class Segment<V> extends LinkedHashMap<String, V> {
+            private static final long serialVersionUID = 1L;
+
+            final int maxEntries;
+            final long maxBytes;
+            long bytes;
+
+            Segment(int maxEntries, long maxBytes) {
+                super(16, 0.75f, true);
+                this.maxEntries = maxEntries;
+                this.maxBytes = maxBytes;
+            }
+        }
+    }
+
+    // Puts a result cache in front of any engine. Keys are whitespace-normalized expressions;
+    // failures are not cached so the error is raised again on the next call.
+    static class CachingCalculator extends Calculator {
+        static final long ENTRY_OVERHEAD_BYTES = 96;
+
+        final Calculator delegate;
+        final BoundedCache<NumberWrapper> results;
+
+        CachingCalculator(Calculator delegate, int maxEntries, long maxBytes) {
+            this(delegate, new BoundedCache<>(maxEntries, maxBytes, v -> ENTRY_OVERHEAD_BYTES));
+        }
+
+        // Lets several calculators, e.g. one per thread, share one cache
+        CachingCalculator(Calculator delegate, BoundedCache<NumberWrapper> results) {
+            this.delegate = delegate;
+            this.results = results;
+        }
+
+        @Override
+        NumberWrapper evaluate(String expr) {
+            String key = normalize(expr);
+            NumberWrapper cached = results.get(key);
+            if (cached == null) {
+                delegate.trace = trace;
+                cached = delegate.evaluate(key);
+                results.put(key, new NumberWrapper(cached.value, cached.isFloat));
+            }
+            // NumberWrapper is mutable, so callers never get the cached instance
+            return new NumberWrapper(cached.value, cached.isFloat);
+        }
+    }
+
+    // A plan compiled by JitCompiler; values binds the plan's variables like CompiledExpression.run
+    interface JitCode {
+        double run(double[] values);
+    }
+
+    // Turns a plan into a hidden class whose run(values) is the whole expression as straight-line
+    // bytecode, so HotSpot compiles it like hand-written code. LOAD reads values[slot]. There are
+    // no branches (division and modulo call Calculator.divide/remainder for the zero checks), so a
+    // version 52 class needs no stack map frames. compile returns null for plans that the class
+    // file format cannot hold, or that HotSpot would never compile.
+    static final class JitCompiler {
+        static final String CLASS_NAME = "Unified_Calc$JitExpression";
+        // HotSpot's HugeMethodLimit: a longer method stays in the bytecode interpreter, which is
+        // slower than CompiledExpression.run
+        static final int HUGE_METHOD_BYTES = 8000;
+
+        static JitCode compile(CompiledExpression plan) {
+            byte[] bytes;
+            try {
+                bytes = classBytes(plan);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            if (bytes == null) return null;
+            try {
+                MethodHandles.Lookup hidden = MethodHandles.lookup().defineHiddenClass(bytes, true);
+                return (JitCode) hidden.findConstructor(hidden.lookupClass(), MethodType.methodType(void.class)).invoke();
+            } catch (Throwable e) {
+                throw new IllegalStateException("Could not define compiled expression class", e);
+            }
+        }
+
+        static byte[] classBytes(CompiledExpression plan) throws IOException {
+            ConstantPool cp = new ConstantPool();
+            int thisClass = cp.classRef(CLASS_NAME);
+            int object = cp.classRef("java/lang/Object");
+            int jitCode = cp.classRef("Unified_Calc$JitCode");
+            int init = cp.utf8("<init>");
+            int voidDesc = cp.utf8("()V");
+            int objectInit = cp.methodRef(object, init, voidDesc);
+            int run = cp.utf8("run");
+            int runDesc = cp.utf8("([D)D");
+            int codeAttr = cp.utf8("Code");
+            int calculator = cp.classRef("Unified_Calc$Calculator");
+            int binaryDesc = cp.utf8("(DD)D");
+            int divide = cp.methodRef(calculator, cp.utf8("divide"), binaryDesc);
+            int remainder = cp.methodRef(calculator, cp.utf8("remainder"), binaryDesc);
+
+            ByteArrayOutputStream codeBytes = new ByteArrayOutputStream();
+            DataOutputStream code = new DataOutputStream(codeBytes);
+            for (int pc = 0; pc < plan.code.length; pc++) {
+                switch (plan.code[pc]) {
+                    case CompiledExpression.PUSH -> {
+                        double value = plan.constants[plan.args[pc]];
+                        if (Double.doubleToRawLongBits(value) == 0L) {
+                            code.writeByte(0x0e); // dconst_0
+                        } else if (value == 1.0) {
+                            code.writeByte(0x0f); // dconst_1
+                        } else {
+                            code.writeByte(0x14); // ldc2_w
+                            code.writeShort(cp.doubleConst(value));
+                        }
+                    }
+                    case CompiledExpression.LOAD -> {
+                        int slot = plan.args[pc];
+                        code.writeByte(0x2b); // aload_1
+                        if (slot <= 5) {
+                            code.writeByte(0x03 + slot); // iconst_<slot>
+                        } else if (slot <= Byte.MAX_VALUE) {
+                            code.writeByte(0x10); // bipush
+                            code.writeByte(slot);
+                        } else if (slot <= Short.MAX_VALUE) {
+                            code.writeByte(0x11); // sipush
+                            code.writeShort(slot);
+                        } else {
+                            return null;
+                        }
+                        code.writeByte(0x31); // daload
+                    }
+                    case '+' -> code.writeByte(0x63); // dadd
+                    case '-' -> code.writeByte(0x67); // dsub
+                    case '*' -> code.writeByte(0x6b); // dmul
+                    case '/' -> {
+                        code.writeByte(0xb8); // invokestatic
+                        code.writeShort(divide);
+                    }
+                    case '%' -> {
+                        code.writeByte(0xb8);
+                        code.writeShort(remainder);
+                    }
+                    default -> {
+                        return null;
+                    }
+                }
+                if (cp.next > 0xfff0 || code.size() > HUGE_METHOD_BYTES) return null;
+            }
+            code.writeByte(0xaf); // dreturn
+            if (2L * plan.maxDepth > 0xffff) return null;
+
+            ByteArrayOutputStream classBytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(classBytes);
+            out.writeInt(0xCAFEBABE);
+            out.writeShort(0);
+            out.writeShort(52);
+            out.writeShort(cp.next);
+            cp.bytes.writeTo(out);
+            out.writeShort(0x0031); // public final super
+            out.writeShort(thisClass);
+            out.writeShort(object);
+            out.writeShort(1);
+            out.writeShort(jitCode);
+            out.writeShort(0); // fields
+            out.writeShort(2); // methods
+            method(out, init, voidDesc, codeAttr, 1, 1, new byte[]{0x2a, (byte) 0xb7, (byte) (objectInit >> 8), (byte) objectInit, (byte) 0xb1});
+            // A LOAD briefly holds the array and index where its value will go, so 2 * maxDepth still covers it
+            method(out, run, runDesc, codeAttr, Math.max(2, 2 * plan.maxDepth), 2, codeBytes.toByteArray());
+            out.writeShort(0); // class attributes
+            return classBytes.toByteArray();
+        }
+
+        static void method(DataOutputStream out, int name, int desc, int codeAttr, int maxStack, int maxLocals, byte[] code) throws IOException {
+            out.writeShort(0x0001); // public
+            out.writeShort(name);
+            out.writeShort(desc);
+            out.writeShort(1);
+            out.writeShort(codeAttr);
+            out.writeInt(12 + code.length);
+            out.writeShort(maxStack);
+            out.writeShort(maxLocals); // this, then the parameters
+            out.writeInt(code.length);
+            out.write(code);
+            out.writeShort(0); // exception table
+            out.writeShort(0); // attributes
+        }
+
+        static final class ConstantPool {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            final DataOutputStream out = new DataOutputStream(bytes);
+            final Map<Long, Integer> doubles = new HashMap<>();
+            int next = 1;
+
+            int utf8(String value) throws IOException {
+                out.writeByte(1);
+                out.writeUTF(value);
+                return next++;
+            }
+
+            int classRef(String internalName) throws IOException {
+                int name = utf8(internalName);
+                out.writeByte(7);
+                out.writeShort(name);
+                return next++;
+            }
+
+            int methodRef(int owner, int name, int desc) throws IOException {
+                out.writeByte(12);
+                out.writeShort(name);
+                out.writeShort(desc);
+                int nameAndType = next++;
+                out.writeByte(10);
+                out.writeShort(owner);
+                out.writeShort(nameAndType);
+                return next++;
+            }
+
+            // Doubles take two pool slots; repeated literals share one entry
+            int doubleConst(double value) throws IOException {
+                Integer index = doubles.get(Double.doubleToRawLongBits(value));
+                if (index != null) return index;
+                out.writeByte(6);
+                out.writeDouble(value);
+                doubles.put(Double.doubleToRawLongBits(value), next);
+                next += 2;
+                return next - 2;
+            }
+        }
+    }
+
+    // Interprets plans like CompiledCalculator until one expression has run HOT_THRESHOLD times in a
+    // row, then switches that expression to JitCompiler output. Compiled classes are kept in a
+    // small LRU keyed by text; anything JitCompiler cannot take stays on the interpreter.
+    static class JitCalculator extends CompiledCalculator {
+        static final int HOT_THRESHOLD = 1_000;
+
+        final BoundedCache<JitCode> compiled = new BoundedCache<>(64, 64L << 20, c -> 4096);
+        JitCode hot;
+        int runs;
+
+        JitCalculator() { this(null); }
+
+        JitCalculator(BoundedCache<CompiledExpression> plans) {
+            super(plans);
+        }
+
+        @Override
+        NumberWrapper evaluate(String expr) {
+            if (plan != null && plan.source.equals(expr)) {
+                if (hot != null) return new NumberWrapper(hot.run(CompiledExpression.NO_VALUES), plan.isFloat);
+                if (++runs == HOT_THRESHOLD) {
+                    hot = JitCompiler.compile(plan);
+                    if (hot != null) compiled.put(expr, hot);
+                }
+            } else {
+                runs = 0;
+                hot = compiled.get(expr);
+            }
+            return super.evaluate(expr);
+        }
+    }
+
+    static class LinkedListCalculator extends StackCalculator {
+        Deque<NumberWrapper> valueStack = new LinkedList<>();
+        Deque<Character> opStack = new LinkedList<>();
+
+        void pushVal(NumberWrapper val) { valueStack.push(val); }
+        NumberWrapper popVal() { return valueStack.pop(); }
+        void pushOp(char ch) { opStack.push(ch); }
+        char popOp() { return opStack.pop(); }
+        char peekOp() { return opStack.peek(); }
+        boolean isEmptyOp() { return opStack.isEmpty(); }
+        void clear() { valueStack.clear(); opStack.clear(); }
+    }
+
+    static class QueueCalculator extends StackCalculator {
+        LinkedList<NumberWrapper> valueQueue = new LinkedList<>();
+        LinkedList<Character> opQueue = new LinkedList<>();
+
+        void pushVal(NumberWrapper val) { valueQueue.offerLast(val); }
+        NumberWrapper popVal() { return valueQueue.removeLast(); }
+        void pushOp(char ch) { opQueue.offerLast(ch); }
+        char popOp() { return opQueue.removeLast(); }
+        char peekOp() { return opQueue.peekLast(); }
+        boolean isEmptyOp() { return opQueue.isEmpty(); }
+        void clear() { valueQueue.clear(); opQueue.clear(); }
+    }
+
+    // Re-evaluates text as it is typed without re-parsing it. The parse state after every prefix is
+    // kept, and states share their value and operator stacks as immutable linked lists, so appending
+    // a character costs only the reductions it triggers and deleting one just drops the last state.
+    // Validation follows Calculator.invalidIndex on the whitespace-normalized text.
+    static final class IncrementalEvaluator {
+        static final class Values {
+            final double value;
+            final boolean isFloat;
+            final Values next;
+
+            Values(double value, boolean isFloat, Values next) {
+                this.value = value;
+                this.isFloat = isFloat;
+                this.next = next;
+            }
+        }
+
+        static final class Ops {
+            final char op;
+            final Ops next;
+
+            Ops(char op, Ops next) {
+                this.op = op;
+                this.next = next;
+            }
+        }
+
+        static final class State {
+            static final State EMPTY = new State(null, null, "", false, (char) 0, 0, false, false, null);
+
+            final Values values;
+            final Ops ops;
+            final String number;     // digits of the number being typed
+            final boolean numberFloat;
+            final char prev;         // last non-whitespace character, 0 at the start
+            final int balance;
+            final boolean dotInNumber;
+            final boolean invalid;
+            final String error;      // evaluation error raised by this prefix, kept by every longer one
+
+            State(Values values, Ops ops, String number, boolean numberFloat, char prev, int balance,
+                  boolean dotInNumber, boolean invalid, String error) {
+                this.values = values;
+                this.ops = ops;
+                this.number = number;
+                this.numberFloat = numberFloat;
+                this.prev = prev;
+                this.balance = balance;
+                this.dotInNumber = dotInNumber;
+                this.invalid = invalid;
+                this.error = error;
+            }
+        }
+
+        // Mutable view used while one step reduces; the result is frozen into a new State
+        static final class Stacks {
+            Values values;
+            Ops ops;
+
+            Stacks(State s) {
+                values = s.values;
+                ops = s.ops;
+                if (!s.number.isEmpty()) {
+                    values = new Values(NumberWrapper.parse(s.number, 0, s.number.length(), s.numberFloat), s.numberFloat, values);
+                }
+            }
+
+            void applyTop() {
+                char op = ops.op;
+                ops = ops.next;
+                if (values == null || values.next == null) throw new RuntimeException("Malformed expression");
+                Values b = values, a = values.next;
+                values = new Values(Calculator.apply(op, a.value, b.value), a.isFloat || b.isFloat, a.next);
+            }
+
+            void operator(char op) {
+                while (ops != null && Calculator.precedence(ops.op) >= Calculator.precedence(op)) applyTop();
+                ops = new Ops(op, ops);
+            }
+
+            void close() {
+                while (ops != null && ops.op != '(') applyTop();
+                if (ops == null) throw new RuntimeException("Mismatched parentheses");
+                ops = ops.next;
+            }
+        }
+
+        final StringBuilder text = new StringBuilder();
+        State[] states = {State.EMPTY};
+
+        // Brings the state in line with newText, re-processing only what follows the common prefix
+        void update(CharSequence newText) {
+            int common = 0, max = Math.min(text.length(), newText.length());
+            while (common < max && text.charAt(common) == newText.charAt(common)) common++;
+            truncate(common);
+            for (int i = common; i < newText.length(); i++) append(newText.charAt(i));
+        }
+
+        void append(char ch) {
+            int length = text.length();
+            if (length + 1 == states.length) states = Arrays.copyOf(states, states.length * 2);
+            states[length + 1] = step(states[length], ch);
+            text.append(ch);
+        }
+
+        void backspace() {
+            if (text.length() > 0) truncate(text.length() - 1);
+        }
+
+        void truncate(int length) {
+            Arrays.fill(states, length + 1, text.length() + 1, null);
+            text.setLength(length);
+        }
+
+        // Result of the whole text, "Error: ..." if evaluating it fails, or null while it is
+        // incomplete or invalid. Costs one reduction per operator still pending.
+        String preview() {
+            State s = states[text.length()];
+            if (s.invalid || s.prev == 0 || s.balance != 0 || "+-*/%.".indexOf(s.prev) != -1) return null;
+            if (s.error != null) return "Error: " + s.error;
+            try {
+                Stacks stacks = new Stacks(s);
+                while (stacks.ops != null) stacks.applyTop();
+                // "()" leaves no value at all
+                if (stacks.values == null || stacks.values.next != null) return "Error: Malformed expression";
+                return NumberWrapper.format(stacks.values.value, stacks.values.isFloat);
+            } catch (RuntimeException e) {
+                return "Error: " + e.getMessage();
+            }
+        }
+
+        static State step(State s, char ch) {
+            if (s.invalid || Character.isWhitespace(ch)) return s;
+
+            boolean digit = ch >= '0' && ch <= '9';
+            boolean dotInNumber = ch == '.' || (digit && s.dotInNumber);
+            int balance = s.balance + (ch == '(' ? 1 : ch == ')' ? -1 : 0);
+            boolean invalid = (s.prev == 0 && "+*/%".indexOf(ch) != -1)
+                    || (!digit && "+-*/%().".indexOf(ch) == -1)
+                    || (ch == s.prev && "+-*/%.".indexOf(ch) != -1)
+                    || (ch == '.' && s.dotInNumber)
+                    || (s.prev == ')' && Calculator.startsNumber(ch))
+                    || balance < 0;
+            if (invalid || s.error != null) {
+                return new State(s.values, s.ops, s.number, s.numberFloat, ch, balance, dotInNumber, invalid, s.error);
+            }
+
+            if (digit || ch == '.') {
+                return new State(s.values, s.ops, s.number + ch, s.numberFloat || ch == '.', ch, balance, dotInNumber, false, null);
+            }
+            try {
+                Stacks stacks = new Stacks(s);
+                if (ch == '(') {
+                    if (Calculator.impliesMultiply(s.prev)) stacks.operator('*');
+                    stacks.ops = new Ops(ch, stacks.ops);
+                } else if (ch == ')') {
+                    stacks.close();
+                } else {
+                    stacks.operator(ch);
+                }
+                return new State(stacks.values, stacks.ops, "", false, ch, balance, false, false, null);
+            } catch (RuntimeException e) {
+                return new State(s.values, s.ops, "", false, ch, balance, false, false, e.getMessage());
+            }
+        }
+    }
+
+    // Reproducible expressions for the tests and the bench module, so both measure the same inputs
+    static final class ExpressionGenerator {
+        private ExpressionGenerator() { }
+
+        // tokens number literals joined by + - * /, grouped into parentheses up to maxDepth deep.
+        // Literals are never 0 and '/' is only followed by a literal, so nothing divides by zero.
+        static String generate(int tokens, int maxDepth, int floatPercent, long seed) {
+            return generate(tokens, maxDepth, floatPercent, seed, CompiledExpression.NO_VARIABLES);
+        }
+
+        // Same, but about one operand in three is a name from variables. Those may follow '/', so
+        // binding one to 0 divides by zero.
+        static String generate(int tokens, int maxDepth, int floatPercent, long seed, String... variables) {
+            Random r = new Random(seed);
+            StringBuilder sb = new StringBuilder(tokens * 4);
+            int depth = 0;
+            boolean afterDivide = false;
+            for (int i = 0; i < tokens; i++) {
+                if (i > 0) {
+                    char op = "+-*/".charAt(r.nextInt(4));
+                    sb.append(op);
+                    afterDivide = op == '/';
+                }
+                if (!afterDivide && depth < maxDepth && i < tokens - 1 && r.nextInt(3) == 0) {
+                    sb.append('(');
+                    depth++;
+                }
+                if (variables.length > 0 && r.nextInt(3) == 0) sb.append(variables[r.nextInt(variables.length)]);
+                else if (r.nextInt(100) < floatPercent) sb.append(1 + r.nextInt(9)).append('.').append(r.nextInt(100));
+                else sb.append(1 + r.nextInt(99));
+                if (depth > 0 && r.nextInt(3) == 0) {
+                    sb.append(')');
+                    depth--;
+                }
+            }
+            while (depth-- > 0) sb.append(')');
+            return sb.toString();
+        }
+    }
+
+    static final class BatchResult {
+        final String expression;
+        final NumberWrapper value; // null when the item failed
+        final String error;
+
+        BatchResult(String expression, NumberWrapper value, String error) {
+            this.expression = expression;
+            this.value = value;
+            this.error = error;
+        }
+
+        boolean isOk() { return error == null; }
+
+        @Override
+        public String toString() {
+            return isOk() ? value.toString() : "Error: " + error;
+        }
+    }
+
+    // Evaluates many expressions on a fork-join pool. Every worker thread gets its own
+    // calculator from the factory; results keep input order and failures are per item.
+    static final class BatchEvaluator {
+        static final int SPLIT_THRESHOLD = 512;
+
+        final ForkJoinPool pool;
+        final ThreadLocal<Calculator> calculators;
+
+        BatchEvaluator(Supplier<Calculator> engine) {
+            this(engine, ForkJoinPool.commonPool());
+        }
+
+        BatchEvaluator(Supplier<Calculator> engine, ForkJoinPool pool) {
+            this.pool = pool;
+            this.calculators = ThreadLocal.withInitial(engine);
+        }
+
+        List<BatchResult> evaluateAll(List<String> expressions) {
+            String[] items = expressions.toArray(new String[0]);
+            BatchResult[] results = new BatchResult[items.length];
+            pool.invoke(new Slice(items, results, 0, items.length));
+            return Arrays.asList(results);
+        }
+
+        List<BatchResult> evaluateAll(Stream<String> expressions) {
+            return evaluateAll(expressions.collect(Collectors.toList()));
+        }
+
+        BatchResult evaluateOne(String expr) {
+            String input = Calculator.normalize(expr);
+            int invalidAt = Calculator.invalidIndex(input);
+            if (invalidAt >= 0) return new BatchResult(expr, null, "Invalid expression at position " + (invalidAt + 1));
+            try {
+                return new BatchResult(expr, calculators.get().evaluate(input), null);
+            } catch (RuntimeException e) {
+                return new BatchResult(expr, null, e.getMessage());
+            }
+        }
+
+        final class Slice extends RecursiveAction {
+            private static final long serialVersionUID = 1L;
+
+            final String[] items;
+            final BatchResult[] results;
+            final int from, to;
+
+            Slice(String[] items, BatchResult[] results, int from, int to) {
+                this.items = items;
+                this.results = results;
+                this.from = from;
+                this.to = to;
+            }
+
+            @Override
+            protected void compute() {
+                if (to - from <= SPLIT_THRESHOLD) {
+                    for (int i = from; i < to; i++) results[i] = evaluateOne(items[i]);
+                    return;
+                }
+                int mid = (from + to) >>> 1;
+                invokeAll(new Slice(items, results, from, mid), new Slice(items, results, mid, to));
+            }
+        }
+    }
+
+    // A batch of expressions compiled into one DAG: every distinct subexpression across the batch is
+    // a single node, evaluated once per run and shared by all expressions that contain it. Nodes are
+    // numbered children-first, so evaluating them in id order respects dependencies.
+    static final class SharedPlan {
+        record NodeKey(char op, long a, long b) { }
+
+        final String[] sources;
+        final int[] roots;              // root node per expression, -1 when it did not compile
+        final boolean[] isFloat;
+        final String[] compileErrors;
+        final String[] variables;
+        final char[] ops;
+        final int[] left, right;        // operand nodes, or the variable slot for LOAD in left
+        final double[] constants;
+        final int nodeCount;
+        final int totalNodes;           // nodes the expressions would need without sharing
+
+        SharedPlan(List<String> expressions, String... variables) {
+            Calculator compiler = new ConcurrentCalculator();
+            int n = expressions.size();
+            sources = expressions.toArray(new String[0]);
+            roots = new int[n];
+            isFloat = new boolean[n];
+            compileErrors = new String[n];
+            this.variables = variables.clone();
+            Map<NodeKey, Integer> ids = new HashMap<>();
+            char[] nodeOps = new char[16];
+            int[] nodeLeft = new int[16], nodeRight = new int[16];
+            double[] nodeConst = new double[16];
+            int count = 0, total = 0;
+
+            for (int e = 0; e < n; e++) {
+                CompiledExpression plan;
+                try {
+                    plan = compiler.compile(Calculator.normalize(sources[e]), variables);
+                } catch (RuntimeException ex) {
+                    roots[e] = -1;
+                    compileErrors[e] = ex.getMessage();
+                    continue;
+                }
+                isFloat[e] = plan.isFloat;
+                total += plan.code.length;
+                int[] stack = new int[plan.maxDepth];
+                int top = -1;
+                for (int pc = 0; pc < plan.code.length; pc++) {
+                    char op = plan.code[pc];
+                    NodeKey key;
+                    if (op == CompiledExpression.PUSH) {
+                        key = new NodeKey(op, Double.doubleToRawLongBits(plan.constants[plan.args[pc]]), 0);
+                    } else if (op == CompiledExpression.LOAD) {
+                        key = new NodeKey(op, plan.args[pc], 0);
+                    } else {
+                        int b = stack[top--];
+                        key = new NodeKey(op, stack[top--], b);
+                    }
+                    Integer id = ids.get(key);
+                    if (id == null) {
+                        if (count == nodeOps.length) {
+                            nodeOps = Arrays.copyOf(nodeOps, count * 2);
+                            nodeLeft = Arrays.copyOf(nodeLeft, count * 2);
+                            nodeRight = Arrays.copyOf(nodeRight, count * 2);
+                            nodeConst = Arrays.copyOf(nodeConst, count * 2);
+                        }
+                        nodeOps[count] = op;
+                        nodeLeft[count] = (int) key.a();
+                        nodeRight[count] = (int) key.b();
+                        if (op == CompiledExpression.PUSH) nodeConst[count] = plan.constants[plan.args[pc]];
+                        id = count++;
+                        ids.put(key, id);
+                    }
+                    stack[++top] = id;
+                }
+                roots[e] = stack[0];
+            }
+            ops = Arrays.copyOf(nodeOps, count);
+            left = Arrays.copyOf(nodeLeft, count);
+            right = Arrays.copyOf(nodeRight, count);
+            constants = Arrays.copyOf(nodeConst, count);
+            nodeCount = count;
+            totalNodes = total;
+        }
+
+        int deduplicated() {
+            return totalNodes - nodeCount;
+        }
+
+        // values[i] binds variables[i]. A failing node (division or modulo by zero) fails every
+        // expression that uses it, with the same message the expression would raise on its own.
+        List<BatchResult> evaluate(double... values) {
+            if (values.length < variables.length) throw new IllegalArgumentException("Expected " + variables.length + " variable values");
+            double[] results = new double[nodeCount];
+            String[] failures = new String[nodeCount];
+            for (int id = 0; id < nodeCount; id++) {
+                char op = ops[id];
+                if (op == CompiledExpression.PUSH) {
+                    results[id] = constants[id];
+                } else if (op == CompiledExpression.LOAD) {
+                    results[id] = values[left[id]];
+                } else if (failures[left[id]] != null || failures[right[id]] != null) {
+                    failures[id] = failures[left[id]] != null ? failures[left[id]] : failures[right[id]];
+                } else {
+                    try {
+                        results[id] = Calculator.apply(op, results[left[id]], results[right[id]]);
+                    } catch (ArithmeticException e) {
+                        failures[id] = e.getMessage();
+                    }
+                }
+            }
+            List<BatchResult> out = new ArrayList<>(sources.length);
+            for (int e = 0; e < sources.length; e++) {
+                int root = roots[e];
+                if (root < 0) out.add(new BatchResult(sources[e], null, compileErrors[e]));
+                else if (failures[root] != null) out.add(new BatchResult(sources[e], null, failures[root]));
+                else out.add(new BatchResult(sources[e], new NumberWrapper(results[root], isFloat[e]), null));
+            }
+            return out;
+        }
+
+        @Override
+        public String toString() {
+            return sources.length + " expressions, " + nodeCount + " shared nodes, " + deduplicated() + " deduplicated";
+        }
+    }
+
+    // Evaluates a file holding one expression per line and writes one result line per input
+    // line. The input is memory-mapped in line-aligned chunks that are evaluated in parallel;
+    // finished chunks are written in file order with only a bounded number in flight.
+    static final class FileEvaluator {
+        static final long DEFAULT_CHUNK_BYTES = 8L << 20;
+
+        final ForkJoinPool pool;
+        final long chunkBytes;
+        // Engines are not thread-safe, so every chunk gets its own from this factory
+        final Supplier<? extends Calculator> engines;
+        // Same policies as runHeadless: report, skip or fail
+        final String onError;
+
+        FileEvaluator() {
+            this(ForkJoinPool.commonPool(), DEFAULT_CHUNK_BYTES, PrimitiveCalculator::new, "report");
+        }
+
+        FileEvaluator(ForkJoinPool pool, long chunkBytes) {
+            this(pool, chunkBytes, PrimitiveCalculator::new, "report");
+        }
+
+        FileEvaluator(ForkJoinPool pool, long chunkBytes, Supplier<? extends Calculator> engines, String onError) {
+            if (chunkBytes < 1 || chunkBytes > Integer.MAX_VALUE / 2) throw new IllegalArgumentException("Invalid chunk size");
+            if (!List.of("report", "skip", "fail").contains(onError)) throw new IllegalArgumentException("Unknown error policy: " + onError);
+            this.pool = pool;
+            this.chunkBytes = chunkBytes;
+            this.engines = engines;
+            this.onError = onError;
+        }
+
+        static final class Report {
+            final long lines;
+            final long errors;
+            final long nanos;
+            // Set when onError is fail: the 1-based line that stopped the run and its error
+            final long failedLine;
+            final String failure;
+
+            Report(long lines, long errors, long nanos) {
+                this(lines, errors, nanos, 0, null);
+            }
+
+            Report(long lines, long errors, long nanos, long failedLine, String failure) {
+                this.lines = lines;
+                this.errors = errors;
+                this.nanos = nanos;
+                this.failedLine = failedLine;
+                this.failure = failure;
+            }
+
+            // The summary runHeadless prints after "Evaluated ", for serial and --parallel runs alike
+            @Override
+            public String toString() {
+                return String.format("%d lines, %d errors in %d ms (%.0f lines/s)",
+                        lines, errors, nanos / 1_000_000, lines * 1e9 / Math.max(1, nanos));
+            }
+        }
+
+        static final class Chunk {
+            final byte[] output;
+            final long lines;
+            final long errors;
+            // Under the fail policy, the error that ended the chunk; lines then counts up to and including it
+            final String failure;
+
+            Chunk(byte[] output, long lines, long errors, String failure) {
+                this.output = output;
+                this.lines = lines;
+                this.errors = errors;
+                this.failure = failure;
+            }
+        }
+
+        Report evaluate(Path input, Path output) throws IOException {
+            long started = System.nanoTime();
+            long lines = 0, errors = 0;
+            try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+                 FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE,
+                         StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                long size = in.size();
+                int maxInFlight = Math.max(2, pool.getParallelism() * 2);
+                ArrayDeque<Future<Chunk>> inFlight = new ArrayDeque<>();
+                for (long start = 0; start < size || !inFlight.isEmpty(); ) {
+                    if (start < size && inFlight.size() < maxInFlight) {
+                        long from = start, to = lineEnd(in, Math.min(start + chunkBytes, size), size);
+                        inFlight.add(pool.submit(() -> evaluateChunk(in, from, to)));
+                        start = to;
+                        continue;
+                    }
+                    Chunk chunk = await(inFlight.poll());
+                    ByteBuffer bytes = ByteBuffer.wrap(chunk.output);
+                    while (bytes.hasRemaining()) out.write(bytes);
+                    lines += chunk.lines;
+                    errors += chunk.errors;
+                    if (chunk.failure != null) {
+                        // Later chunks may already be running; their output is never written
+                        for (Future<Chunk> pending : inFlight) pending.cancel(true);
+                        return new Report(lines, errors, System.nanoTime() - started, lines, chunk.failure);
+                    }
+                }
+            }
+            return new Report(lines, errors, System.nanoTime() - started);
+        }
+
+        // Position just after the first '\n' at or after pos, or size when there is none
+        static long lineEnd(FileChannel in, long pos, long size) throws IOException {
+            ByteBuffer probe = ByteBuffer.allocate(4096);
+            while (pos < size) {
+                probe.clear();
+                int n = in.read(probe, pos);
+                for (int i = 0; i < n; i++) {
+                    if (probe.get(i) == '\n') return pos + i + 1;
+                }
+                pos += n;
+            }
+            return size;
+        }
+
+        Chunk evaluateChunk(FileChannel in, long from, long to) throws IOException {
+            MappedByteBuffer bytes = in.map(FileChannel.MapMode.READ_ONLY, from, to - from);
+            Calculator calc = engines.get();
+            // The primitive engine reads the line buffer directly instead of a String copy
+            PrimitiveCalculator primitive = calc instanceof PrimitiveCalculator p ? p : null;
+            LineBuffer line = new LineBuffer();
+            StringBuilder out = new StringBuilder();
+            long lines = 0, errors = 0;
+            int n = bytes.limit();
+            for (int i = 0; i < n; ) {
+                int end = i;
+                while (end < n && bytes.get(end) != '\n') end++;
+                line.load(bytes, i, end);
+                lines++;
+                i = end + 1;
+                String error = null;
+                int invalidAt = Calculator.invalidIndex(line);
+                if (invalidAt >= 0) {
+                    error = "Invalid expression at position " + (invalidAt + 1);
+                } else {
+                    try {
+                        if (primitive != null) {
+                            double value = primitive.evaluateValue(line);
+                            out.append(NumberWrapper.format(value, primitive.stack.resultFloat));
+                        } else {
+                            out.append(calc.evaluate(line.toString()));
+                        }
+                        out.append('\n');
+                    } catch (RuntimeException e) {
+                        error = errorMessage(e);
+                    }
+                }
+                if (error == null) continue;
+                errors++;
+                if (onError.equals("fail")) return new Chunk(out.toString().getBytes(StandardCharsets.UTF_8), lines, errors, error);
+                if (onError.equals("report")) out.append("Error: ").append(error).append('\n');
+            }
+            return new Chunk(out.toString().getBytes(StandardCharsets.UTF_8), lines, errors, null);
+        }
+
+        static Chunk await(Future<Chunk> chunk) throws IOException {
+            try {
+                return chunk.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while evaluating file");
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IOException io) throw io;
+                if (e.getCause() instanceof RuntimeException re) throw re;
+                throw new IOException(e.getCause());
+            }
+        }
+
+        // One line of the mapped file with whitespace (including the '\r' of CRLF) dropped,
+        // as Calculator.normalize would; reused for every line of a chunk
+        static final class LineBuffer implements CharSequence {
+            char[] chars = new char[256];
+            int length;
+
+            void load(ByteBuffer bytes, int from, int to) {
+                if (chars.length < to - from) chars = new char[to - from];
+                length = 0;
+                for (int i = from; i < to; i++) {
+                    char ch = (char) (bytes.get(i) & 0xff);
+                    if (!Character.isWhitespace(ch)) chars[length++] = ch;
+                }
+            }
+
+            @Override
+            public int length() { return length; }
+
+            @Override
+            public char charAt(int index) { return chars[index]; }
+
+            @Override
+            public CharSequence subSequence(int start, int end) { return new String(chars, start, end - start); }
+
+            @Override
+            public String toString() { return new String(chars, 0, length); }
+        }
+    }
+
+    static final String USAGE = "Usage: java Unified_Calc [--engine=array|linkedlist|queue|compiled|primitive|jit]"
+            + " [--in=FILE] [--out=FILE] [--on-error=report|skip|fail] [--parallel]";
+
+    static Calculator engine(String name) {
+        return switch (name) {
+            case "array" -> new ArrayCalculator();
+            case "linkedlist" -> new LinkedListCalculator();
+            case "queue" -> new QueueCalculator();
+            case "compiled" -> new CompiledCalculator();
+            case "primitive" -> new PrimitiveCalculator();
+            case "jit" -> new JitCalculator();
+            default -> null;
+        };
+    }
+
+    // Non-interactive mode: one expression per input line, one result line out, throughput on stderr.
+    // --on-error: report writes "Error: ..." in place of the result, skip drops the line, fail stops.
+    // --parallel hands the whole file to FileEvaluator (needs --in and --out) with the same engine and policy.
+    static int runHeadless(String[] args) throws IOException {
+        Map<String, String> opts = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            String key = arg.startsWith("--") ? (eq < 0 ? arg.substring(2) : arg.substring(2, eq)) : "";
+            if (!List.of("engine", "in", "out", "on-error", "parallel").contains(key)) {
+                System.err.println(USAGE);
+                return 2;
+            }
+            opts.put(key, eq < 0 ? "" : arg.substring(eq + 1));
+        }
+        String engineName = opts.getOrDefault("engine", "primitive");
+        String onError = opts.getOrDefault("on-error", "report");
+        if (engine(engineName) == null || !List.of("report", "skip", "fail").contains(onError)) {
+            System.err.println(USAGE);
+            return 2;
+        }
+
+        if (opts.containsKey("parallel")) {
+            if (!opts.containsKey("in") || !opts.containsKey("out")) {
+                System.err.println("--parallel needs --in and --out");
+                return 2;
+            }
+            FileEvaluator files = new FileEvaluator(ForkJoinPool.commonPool(), FileEvaluator.DEFAULT_CHUNK_BYTES,
+                    () -> engine(engineName), onError);
+            FileEvaluator.Report report = files.evaluate(Paths.get(opts.get("in")), Paths.get(opts.get("out")));
+            if (report.failure != null) {
+                System.err.println("Line " + report.failedLine + ": " + report.failure);
+                return 1;
+            }
+            System.err.println("Evaluated " + report);
+            return 0;
+        }
+
+        Calculator calc = engine(engineName);
+        long started = System.nanoTime();
+        long lines = 0, errors = 0;
+        try (BufferedReader in = opts.containsKey("in")
+                     ? Files.newBufferedReader(Paths.get(opts.get("in")))
+                     : new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8), 1 << 16);
+             BufferedWriter out = opts.containsKey("out")
+                     ? Files.newBufferedWriter(Paths.get(opts.get("out")))
+                     : new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), 1 << 16)) {
+            for (String line; (line = in.readLine()) != null; ) {
+                lines++;
+                String input = Calculator.normalize(line);
+                String error = null;
+                int invalidAt = Calculator.invalidIndex(input);
+                if (invalidAt >= 0) {
+                    error = "Invalid expression at position " + (invalidAt + 1);
+                } else {
+                    try {
+                        out.write(calc.evaluate(input).toString());
+                        out.newLine();
+                    } catch (RuntimeException e) {
+                        error = errorMessage(e);
+                    }
+                }
+                if (error == null) continue;
+                errors++;
+                if (onError.equals("fail")) {
+                    out.flush();
+                    System.err.println("Line " + lines + ": " + error);
+                    return 1;
+                }
+                if (onError.equals("report")) {
+                    out.write("Error: " + error);
+                    out.newLine();
+                }
+            }
+        }
+        System.err.println("Evaluated " + new FileEvaluator.Report(lines, errors, System.nanoTime() - started));
+        return 0;
+    }
+
+    // Stack underflows from the collection engines carry no message, yet still have to count as errors
+    static String errorMessage(RuntimeException e) {
+        return e.getMessage() != null ? e.getMessage() : "Malformed expression (" + e.getClass().getSimpleName() + ")";
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length > 0) {
+            int status = runHeadless(args);
+            if (status != 0) System.exit(status);
+            return;
+        }
+
+        Scanner sc = new Scanner(System.in);
+        Calculator calc;
+
+        while (true) {
+            calc = null;
+
+            while (calc == null) {
+                System.out.println("Choose Data Structure to perform :");
+                System.out.println("1. Array");
+                System.out.println("2. LinkedList");
+                System.out.println("3. Queue");
+                System.out.println("4. Compiled");
+                System.out.println("5. Primitive");
+                System.out.println("6. JIT");
+                System.out.print("Enter choice: ");
+                int choice;
+                try {
+                    choice = Integer.parseInt(sc.nextLine().trim());
+                } catch (NumberFormatException e) {
+                    choice = -1;
+                }
+
+                switch (choice) {
+                    case 1 -> calc = new ArrayCalculator();
+                    case 2 -> calc = new LinkedListCalculator();
+                    case 3 -> calc = new QueueCalculator();
+                    case 4 -> calc = new CompiledCalculator();
+                    case 5 -> calc = new PrimitiveCalculator();
+                    case 6 -> calc = new JitCalculator();
+                    default -> System.out.println("Invalid choice. Try again.");
+                }
+            }
+            calc.trace = new ConsoleTrace();
+            evaluateLoop(sc, calc);
+
+            System.out.print("Switch data structure? (y/n): ");
+            if (!sc.nextLine().trim().equalsIgnoreCase("y")) break;
+        }
+
+        System.out.println("Calculator closed.");
+        sc.close();
+    }
+
+    // Prompts for expressions on one engine until the user declines another one
+    static void evaluateLoop(Scanner sc, Calculator calc) {
+        while (true) {
+            System.out.print("Enter expression: ");
+            String input = Calculator.normalize(sc.nextLine());
+
+            int invalidAt = Calculator.invalidIndex(input);
+            if (invalidAt >= 0) {
+                System.out.println("Invalid expression at position " + (invalidAt + 1) + ". Please re-enter. Check for:");
+                System.out.println("- Only numbers, + - * / % . ( ) allowed");
+                System.out.println("- No alphabets or symbols");
+                System.out.println("- Balanced parentheses");
+                System.out.println("- No trailing or repeating operators");
+                continue;
+            }
+
+            try {
+                NumberWrapper result = calc.evaluate(input);
+                System.out.println("Final Result: " + result);
+            } catch (Exception e) {
+                System.out.println("Error: " + e.getMessage());
+            }
+
+            System.out.print("Evaluate another expression? (y/n): ");
+            if (!sc.nextLine().trim().equalsIgnoreCase("y")) break;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+class BatchEvaluatorTest {
+    @Test
+    void keepsOrderAndPerItemErrors() {
+        List<String> exprs = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) exprs.add(i % 100 == 0 ? "1/0" : i % 77 == 0 ? "1++2" : i + " * 2 + 0.5");
+        List<Unified_Calc.BatchResult> results = new Unified_Calc.BatchEvaluator(Unified_Calc.PrimitiveCalculator::new).evaluateAll(exprs);
+        assertEquals(5000, results.size());
+        assertEquals("Error: Division by zero.", results.get(0).toString());
+        assertEquals("2.50", results.get(1).toString());
+        assertEquals("Error: Invalid expression at position 3", results.get(77).toString());
+        assertFalse(results.get(77).isOk());
+        assertEquals("9998.50", results.get(4999).toString());
+    }
+
+    @Test
+    void concurrentCalculatorIsShareable() throws Exception {
+        Unified_Calc.Calculator calc = new Unified_Calc.ConcurrentCalculator();
+        ExecutorService threads = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> wrong = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int k = t;
+                wrong.add(threads.submit(() -> {
+                    int bad = 0;
+                    for (int i = 0; i < 50_000; i++) {
+                        if (calc.evaluate(k + "*(" + i + "+1)").value != k * (i + 1.0)) bad++;
+                    }
+                    return bad;
+                }));
+            }
+            for (Future<Integer> f : wrong) assertEquals(0, f.get());
+        } finally {
+            threads.shutdown();
+        }
+    }
+
+    @Test
+    void cachingCalculatorBoundsEntries() {
+        Unified_Calc.CachingCalculator calc = new Unified_Calc.CachingCalculator(new Unified_Calc.LinkedListCalculator(), 100, 1 << 20);
+        for (int i = 0; i < 1000; i++) calc.evaluate((i % 150) + " + 1.5");
+        assertEquals("4.50", calc.evaluate("3 + 1.5").toString());
+        assertEquals(100, calc.results.size());
+        assertEquals(1001, calc.results.hitCount() + calc.results.missCount());
+        // Callers get a copy, so changing a result does not change the cache
+        calc.evaluate("1+1").value = 99;
+        assertEquals(2.0, calc.evaluate("1+1").value);
+    }
+
+    @Test
+    void boundedCacheEvictsByBytes() {
+        Unified_Calc.BoundedCache<String> cache = new Unified_Calc.BoundedCache<>(1000, 1000, v -> 2L * v.length());
+        for (int i = 0; i < 100; i++) cache.put("k" + i, "x".repeat(40));
+        long bytes = 0;
+        for (Unified_Calc.BoundedCache.Segment<String> segment : cache.segments) bytes += segment.bytes;
+        assertEquals(true, bytes <= 1000);
+        assertEquals(100 - cache.size(), cache.evictionCount());
+    }
+}
@@ -0,0 +1,126 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class CompiledExpressionTest {
+    final Unified_Calc.CompiledCalculator calc = new Unified_Calc.CompiledCalculator();
+
+    // Reference answer: substitute the value for x and run the stack engine
+    static String substituted(String expr, double x) {
+        String literal = x == 0 && 1 / x < 0 ? "(0*(0-1))" : "(" + x + ")";
+        try {
+            return "" + Double.doubleToRawLongBits(new Unified_Calc.LinkedListCalculator().evaluate(expr.replace("x", literal)).value);
+        } catch (RuntimeException e) {
+            return e.getMessage();
+        }
+    }
+
+    // Constant folding and identity removal must not change any result, signed zeros included
+    @Test
+    void optimizedPlansMatchSubstitution() {
+        Random r = new Random(4);
+        List<String> mismatches = new ArrayList<>();
+        for (int k = 0; k < 20_000; k++) {
+            StringBuilder sb = new StringBuilder();
+            for (int i = 2 + r.nextInt(8); i > 0; i--) {
+                if (sb.length() > 0) sb.append("+-*/%".charAt(r.nextInt(5)));
+                int q = r.nextInt(5);
+                sb.append(q == 0 ? "x" : q == 1 ? "1" : q == 2 ? "0" : q == 3 ? "(x-0)" : String.valueOf(r.nextInt(5)));
+            }
+            String expr = sb.toString();
+            Unified_Calc.CompiledExpression plan = calc.compile(expr, "x");
+            for (double x : new double[]{0.0, -0.0, 1, 2.5, 7}) {
+                String actual;
+                try {
+                    actual = "" + Double.doubleToRawLongBits(plan.run(new double[plan.maxDepth + 1], new double[]{x}));
+                } catch (RuntimeException e) {
+                    actual = e.getMessage();
+                }
+                String expected = substituted(expr, x);
+                if (!expected.equals(actual)) mismatches.add(expr + " x=" + x + " expected " + expected + " got " + actual);
+            }
+        }
+        assertEquals(List.of(), mismatches.subList(0, Math.min(10, mismatches.size())));
+    }
+
+    @Test
+    void foldsConstants() {
+        Unified_Calc.CompiledExpression plan = calc.compile("(3*4+2)*x", "x");
+        assertEquals(1, plan.constants.length);
+        assertEquals(28.0, plan.execute(2).value);
+    }
+
+    @Test
+    void variables() {
+        Unified_Calc.CompiledExpression plan = calc.compile("price*qty-discount+2(tax_rate)", "price", "qty", "discount", "tax_rate");
+        assertEquals(10.0, plan.run(new double[plan.maxDepth], new double[]{2.5, 4, 1, 0.5}));
+        assertEquals(9.0, plan.execute(3, 3, 0, 0).value);
+        assertEquals(1, plan.variableIndex("qty"));
+        RuntimeException e = assertThrows(RuntimeException.class, () -> calc.compile("a+b", "a"));
+        assertEquals("Unknown variable 'b'", e.getMessage());
+    }
+
+    @Test
+    void columnsMatchRowByRow() {
+        Unified_Calc.CompiledExpression plan = calc.compile("(price*qty-discount)*1.5+qty%7/2(price+1)", "price", "qty", "discount");
+        int rows = 10_007;
+        Random r = new Random(1);
+        double[][] columns = new double[3][rows];
+        for (int i = 0; i < rows; i++) {
+            columns[0][i] = r.nextInt(100) + 1;
+            columns[1][i] = r.nextDouble() * 10;
+            columns[2][i] = r.nextInt(5);
+        }
+        double[] results = plan.evaluateColumns(columns, rows);
+        double[] stack = new double[plan.maxDepth];
+        for (int i = 0; i < rows; i++) {
+            double expected = plan.run(stack, new double[]{columns[0][i], columns[1][i], columns[2][i]});
+            assertEquals(Double.doubleToLongBits(expected), Double.doubleToLongBits(results[i]), "row " + i);
+        }
+    }
+
+    @Test
+    void planCacheIsShared() {
+        Unified_Calc.BoundedCache<Unified_Calc.CompiledExpression> plans = Unified_Calc.CompiledCalculator.planCache(1000, 1 << 20);
+        Unified_Calc.CompiledCalculator first = new Unified_Calc.CompiledCalculator(plans);
+        Unified_Calc.CompiledCalculator second = new Unified_Calc.CompiledCalculator(plans);
+        for (int i = 0; i < 1000; i++) first.evaluate((i % 50) + "+1.5*2");
+        assertEquals("6.00", second.evaluate("3+1.5*2").toString());
+        assertEquals(50, plans.size());
+        assertEquals(50, plans.missCount());
+    }
+
+    @Test
+    void sharedPlanMatchesSeparatePlans() {
+        Random r = new Random(2);
+        String[] parts = {"(x*2+1)", "(y-x)", "(x/y)", "3", "(x%4)", "(y*y)"};
+        List<String> exprs = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            StringBuilder sb = new StringBuilder();
+            for (int k = 1 + r.nextInt(6); k > 0; k--) {
+                if (sb.length() > 0) sb.append("+-*/".charAt(r.nextInt(4)));
+                sb.append(parts[r.nextInt(parts.length)]);
+            }
+            exprs.add(sb.toString());
+        }
+        exprs.add("1+");
+        exprs.add("x/(y-y)");
+        Unified_Calc.SharedPlan shared = new Unified_Calc.SharedPlan(exprs, "x", "y");
+        for (double[] values : new double[][]{{3, 7}, {0, 5}, {2, 0}}) {
+            List<Unified_Calc.BatchResult> results = shared.evaluate(values);
+            for (int i = 0; i < exprs.size(); i++) {
+                String expected;
+                try {
+                    expected = calc.compile(exprs.get(i), "x", "y").execute(values).toString();
+                } catch (RuntimeException e) {
+                    expected = "Error: " + e.getMessage();
+                }
+                assertEquals(expected, results.get(i).toString(), exprs.get(i));
+            }
+        }
+    }
+}
@@ -0,0 +1,105 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+
+// Every engine must give the LinkedList engine's answer, bit for bit, or fail where it fails
+class EngineAgreementTest {
+    static final Map<String, Supplier<Unified_Calc.Calculator>> ENGINES = Map.of(
+            "array", Unified_Calc.ArrayCalculator::new,
+            "queue", Unified_Calc.QueueCalculator::new,
+            "compiled", Unified_Calc.CompiledCalculator::new,
+            "primitive", Unified_Calc.PrimitiveCalculator::new,
+            "jit", Unified_Calc.JitCalculator::new,
+            "concurrent", Unified_Calc.ConcurrentCalculator::new,
+            "caching", () -> new Unified_Calc.CachingCalculator(new Unified_Calc.ArrayCalculator(), 100, 1 << 20));
+
+    @Test
+    void randomExpressionsMatchReference() {
+        Random r = new Random(42);
+        Unified_Calc.Calculator ref = new Unified_Calc.LinkedListCalculator();
+        Map<String, Unified_Calc.Calculator> engines = new TreeMap<>();
+        ENGINES.forEach((name, engine) -> engines.put(name, engine.get()));
+        List<String> mismatches = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            String expr = Expressions.random(r, 5);
+            // Some inputs lose a '+' to an unbalanced '('
+            if (r.nextInt(5) == 0) expr = expr.replaceFirst("\\+", "(");
+            String expected = Expressions.outcome(ref, expr);
+            for (Map.Entry<String, Unified_Calc.Calculator> e : engines.entrySet()) {
+                String actual = Expressions.outcome(e.getValue(), expr);
+                if (!actual.equals(expected)) mismatches.add(e.getKey() + " " + expr + " expected " + expected + " got " + actual);
+            }
+        }
+        assertEquals(List.of(), mismatches.subList(0, Math.min(10, mismatches.size())));
+    }
+
+    @Test
+    void enginesRecoverAfterFailedEvaluation() {
+        for (Map.Entry<String, Supplier<Unified_Calc.Calculator>> e : ENGINES.entrySet()) {
+            Unified_Calc.Calculator calc = e.getValue().get();
+            for (String bad : List.of("-5", "1/0", "(1+2", "2*(3%0)")) {
+                assertThrows(RuntimeException.class, () -> calc.evaluate(bad), e.getKey() + " " + bad);
+                assertEquals("2", calc.evaluate("1+1").toString(), e.getKey() + " after " + bad);
+            }
+        }
+    }
+
+    // A leading minus used to leave valTop at -2, after which clear() threw on every later call
+    @Test
+    void arrayCalculatorClearsAfterUnderflow() {
+        for (boolean shrink : new boolean[]{false, true}) {
+            Unified_Calc.ArrayCalculator calc = new Unified_Calc.ArrayCalculator(4, shrink);
+            assertThrows(RuntimeException.class, () -> calc.evaluate("-5"));
+            assertEquals("6", calc.evaluate("2*3").toString());
+            assertEquals(-1, calc.valTop);
+            assertEquals(-1, calc.opTop);
+        }
+    }
+
+    @Test
+    void arrayCalculatorGrowsAndShrinks() {
+        StringBuilder nested = new StringBuilder();
+        for (int i = 0; i < 5000; i++) nested.append("(1+");
+        nested.append('1');
+        for (int i = 0; i < 5000; i++) nested.append(')');
+        Unified_Calc.ArrayCalculator calc = new Unified_Calc.ArrayCalculator(4, true);
+        assertEquals("5001", calc.evaluate(nested.toString()).toString());
+        assertEquals("3", calc.evaluate("1+2").toString());
+        assertEquals(4, calc.valueStack.length);
+    }
+
+    // A number right after ')' has no operator to join it; no engine may quietly keep one side
+    @Test
+    void numberAfterCloseIsRejected() {
+        Map<String, Supplier<Unified_Calc.Calculator>> engines = new TreeMap<>(ENGINES);
+        engines.put("linkedlist", Unified_Calc.LinkedListCalculator::new);
+        for (String expr : List.of("(2)3", "2(3)4", "(1+2)5", "(2).5")) {
+            assertTrue(Unified_Calc.Calculator.invalidIndex(expr) >= 0, expr);
+            Unified_Calc.IncrementalEvaluator live = new Unified_Calc.IncrementalEvaluator();
+            live.update(expr);
+            assertNull(live.preview(), expr);
+            for (Map.Entry<String, Supplier<Unified_Calc.Calculator>> e : engines.entrySet()) {
+                RuntimeException error = assertThrows(RuntimeException.class, () -> e.getValue().get().evaluate(expr), e.getKey() + " " + expr);
+                assertEquals("Malformed expression", error.getMessage(), e.getKey() + " " + expr);
+            }
+        }
+    }
+
+    @Test
+    void impliedMultiplication() {
+        for (Supplier<Unified_Calc.Calculator> engine : ENGINES.values()) {
+            assertEquals("14", engine.get().evaluate("2(3+4)").toString());
+            assertEquals("21", engine.get().evaluate("(1+2)(3+4)").toString());
+            assertEquals("15.00", engine.get().evaluate("5.(3)").toString());
+        }
+    }
+}
@@ -0,0 +1,25 @@
+import java.util.Random;
+
+// Random inputs shared by the engine tests; see also Unified_Calc.ExpressionGenerator
+final class Expressions {
+    private Expressions() { }
+
+    // Any mix of numbers and all five operators, including ones that divide by zero
+    static String random(Random r, int depth) {
+        if (depth == 0 || r.nextInt(3) == 0) {
+            return r.nextInt(4) == 0 ? r.nextInt(100) + "." + r.nextInt(100) : String.valueOf(r.nextInt(20));
+        }
+        String e = random(r, depth - 1) + "+-*/%".charAt(r.nextInt(5)) + random(r, depth - 1);
+        return r.nextInt(3) == 0 ? "(" + e + ")" : e;
+    }
+
+    // Result as float flag plus exact bits, or ERR when the engine threw
+    static String outcome(Unified_Calc.Calculator calc, String expr) {
+        try {
+            Unified_Calc.NumberWrapper w = calc.evaluate(expr);
+            return w.isFloat + ":" + Double.doubleToLongBits(w.value);
+        } catch (RuntimeException e) {
+            return "ERR";
+        }
+    }
+}
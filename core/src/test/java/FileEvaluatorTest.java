@@ -0,0 +1,97 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FileEvaluatorTest {
+    @TempDir
+    Path dir;
+
+    // Small chunks so lines and CRLF pairs straddle chunk boundaries
+    @Test
+    void matchesBatchEvaluation() throws IOException {
+        Random r = new Random(5);
+        StringBuilder text = new StringBuilder();
+        List<String> exprs = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            String e = i % 1000 == 0 ? "1/0" : i % 777 == 0 ? "" : Unified_Calc.ExpressionGenerator.generate(1 + r.nextInt(20), 3, 30, i);
+            exprs.add(e);
+            text.append(e).append(i % 3 == 0 ? "\r\n" : "\n");
+        }
+        Path in = Files.writeString(dir.resolve("in.txt"), text), out = dir.resolve("out.txt");
+        Unified_Calc.FileEvaluator.Report report = new Unified_Calc.FileEvaluator(new ForkJoinPool(4), 1 << 12).evaluate(in, out);
+
+        List<Unified_Calc.BatchResult> expected = new Unified_Calc.BatchEvaluator(Unified_Calc.PrimitiveCalculator::new).evaluateAll(exprs);
+        List<String> actual = Files.readAllLines(out);
+        assertEquals(exprs.size(), report.lines);
+        assertEquals(exprs.size(), actual.size());
+        for (int i = 0; i < exprs.size(); i++) assertEquals(expected.get(i).toString(), actual.get(i), "line " + (i + 1));
+    }
+
+    @Test
+    void failPolicyStopsAtFirstError() throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (int i = 1; i <= 500; i++) text.append(i == 137 ? "5/0" : i + "+1").append('\n');
+        Path in = Files.writeString(dir.resolve("in.txt"), text), out = dir.resolve("out.txt");
+        Unified_Calc.FileEvaluator.Report report = new Unified_Calc.FileEvaluator(
+                new ForkJoinPool(4), 16, Unified_Calc.QueueCalculator::new, "fail").evaluate(in, out);
+        assertEquals(137, report.failedLine);
+        assertEquals("Division by zero.", report.failure);
+        assertEquals(136, Files.readAllLines(out).size());
+    }
+
+    @Test
+    void headlessModesAgree() throws IOException {
+        Path in = Files.writeString(dir.resolve("in.txt"), "1+1\n-5\n2*3\n1/0\n(4\n");
+        for (String engine : List.of("array", "linkedlist", "queue", "compiled", "primitive", "jit")) {
+            for (String policy : List.of("report", "skip", "fail")) {
+                Path serial = dir.resolve("serial.txt"), parallel = dir.resolve("parallel.txt");
+                int serialStatus = Unified_Calc.runHeadless(new String[]{
+                        "--engine=" + engine, "--on-error=" + policy, "--in=" + in, "--out=" + serial});
+                int parallelStatus = Unified_Calc.runHeadless(new String[]{
+                        "--parallel", "--engine=" + engine, "--on-error=" + policy, "--in=" + in, "--out=" + parallel});
+                String label = engine + " " + policy;
+                assertEquals(policy.equals("fail") ? 1 : 0, serialStatus, label);
+                assertEquals(serialStatus, parallelStatus, label);
+                assertEquals(Files.readAllLines(serial), Files.readAllLines(parallel), label);
+                assertEquals(policy.equals("report") ? 5 : policy.equals("skip") ? 2 : 1, Files.readAllLines(serial).size(), label);
+            }
+        }
+    }
+
+    // Scripts parse the summary, so --parallel must not change its shape
+    @Test
+    void headlessModesPrintTheSameSummary() throws IOException {
+        Path in = Files.writeString(dir.resolve("in.txt"), "1+1\n-5\n2*3\n1/0\n(4\n");
+        List<String> summaries = new ArrayList<>();
+        PrintStream err = System.err;
+        try {
+            for (String mode : List.of("--engine=array", "--parallel")) {
+                ByteArrayOutputStream captured = new ByteArrayOutputStream();
+                System.setErr(new PrintStream(captured, true, StandardCharsets.UTF_8));
+                Unified_Calc.runHeadless(new String[]{mode, "--in=" + in, "--out=" + dir.resolve("out.txt")});
+                summaries.add(captured.toString(StandardCharsets.UTF_8).trim().replaceAll("\\d+ ms \\(\\d+ lines/s\\)", "T"));
+            }
+        } finally {
+            System.setErr(err);
+        }
+        assertEquals(List.of("Evaluated 5 lines, 3 errors in T", "Evaluated 5 lines, 3 errors in T"), summaries);
+    }
+
+    @Test
+    void rejectsUnknownOptions() throws IOException {
+        assertEquals(2, Unified_Calc.runHeadless(new String[]{"--engine=stack"}));
+        assertEquals(2, Unified_Calc.runHeadless(new String[]{"--on-error=ignore"}));
+        assertEquals(2, Unified_Calc.runHeadless(new String[]{"--parallel"}));
+    }
+}
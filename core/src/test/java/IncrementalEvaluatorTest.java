@@ -0,0 +1,54 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class IncrementalEvaluatorTest {
+    // Random typing, backspacing and pasting must always preview what a full evaluation would show
+    @Test
+    void previewMatchesFullEvaluation() {
+        Random r = new Random(8);
+        Unified_Calc.LinkedListCalculator ref = new Unified_Calc.LinkedListCalculator();
+        Unified_Calc.IncrementalEvaluator live = new Unified_Calc.IncrementalEvaluator();
+        String alphabet = "0123456789+-*/%(). ";
+        List<String> mismatches = new ArrayList<>();
+        String text = "";
+        for (int k = 0; k < 200_000; k++) {
+            int edit = r.nextInt(10);
+            if (edit < 6) text = text + alphabet.charAt(r.nextInt(alphabet.length()));
+            else if (edit < 8) text = text.isEmpty() ? text : text.substring(0, text.length() - 1);
+            else if (edit < 9) text = Unified_Calc.ExpressionGenerator.generate(1 + r.nextInt(10), 3, 30, k);
+            else text = text.length() > 2 ? text.substring(0, r.nextInt(text.length())) + "7" + text.substring(r.nextInt(text.length())) : "";
+            if (text.length() > 40) text = "";
+            live.update(text);
+
+            String input = Unified_Calc.Calculator.normalize(text);
+            String expected;
+            if (Unified_Calc.Calculator.invalidIndex(input) >= 0) {
+                expected = null;
+            } else {
+                try {
+                    expected = ref.evaluate(input).toString();
+                } catch (RuntimeException e) {
+                    expected = "Error";
+                }
+            }
+            String actual = live.preview();
+            if (actual != null && actual.startsWith("Error")) actual = "Error";
+            if (!Objects.equals(expected, actual)) mismatches.add("'" + text + "' expected " + expected + " got " + actual);
+        }
+        assertEquals(List.of(), mismatches.subList(0, Math.min(10, mismatches.size())));
+    }
+
+    @Test
+    void emptyParenthesesPreviewAnError() {
+        Unified_Calc.IncrementalEvaluator live = new Unified_Calc.IncrementalEvaluator();
+        live.update("()");
+        assertEquals("Error: Malformed expression", live.preview());
+        live.update("(())");
+        assertEquals("Error: Malformed expression", live.preview());
+    }
+}
@@ -0,0 +1,100 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class JitCompilerTest {
+    final Unified_Calc.CompiledCalculator calc = new Unified_Calc.CompiledCalculator();
+
+    // Variables keep the arithmetic from folding away, so every operator reaches the bytecode
+    @Test
+    void compiledClassesMatchInterpreter() {
+        Random r = new Random(9);
+        for (int k = 0; k < 2000; k++) {
+            String expr = Unified_Calc.ExpressionGenerator.generate(1 + r.nextInt(200), r.nextInt(6), 40, k, "x", "y");
+            if (k % 10 == 0) expr = expr + "/0";
+            if (k % 13 == 0) expr = "1%(2-2)+" + expr;
+            Unified_Calc.CompiledExpression plan = calc.compile(expr, "x", "y");
+            // y is 0 now and then, so variable divisors hit the zero checks too
+            double[] values = {r.nextInt(200) / 8.0 - 10, r.nextInt(4) == 0 ? 0 : r.nextDouble() * 50};
+            String expected, actual;
+            try {
+                expected = "" + plan.run(new double[plan.maxDepth], values);
+            } catch (RuntimeException e) {
+                expected = e.getMessage();
+            }
+            try {
+                Unified_Calc.JitCode jit = Unified_Calc.JitCompiler.compile(plan);
+                actual = jit == null ? "null" : "" + jit.run(values);
+            } catch (RuntimeException e) {
+                actual = e.getMessage();
+            }
+            assertEquals(expected, actual, expr);
+        }
+    }
+
+    // Constant plans fold down to a single value however long the text was
+    @Test
+    void longConstantPlansCompile() {
+        String expr = Unified_Calc.ExpressionGenerator.generate(30_000, 4, 50, 1);
+        assertEquals(calc.evaluate(expr).value, Unified_Calc.JitCompiler.compile(calc.compile(expr)).run(new double[0]));
+    }
+
+    @Test
+    void variablePlansCompile() {
+        Unified_Calc.JitCode jit = Unified_Calc.JitCompiler.compile(calc.compile("price*qty-discount/2+qty%4", "price", "qty", "discount"));
+        assertEquals(3 * 7 - 5 / 2.0 + 7 % 4, jit.run(new double[]{3, 7, 5}));
+        ArithmeticException e = assertThrows(ArithmeticException.class,
+                () -> Unified_Calc.JitCompiler.compile(calc.compile("x/y", "x", "y")).run(new double[]{1, 0}));
+        assertEquals("Division by zero.", e.getMessage());
+    }
+
+    // Slots past 5 and past 127 need bipush and sipush
+    @Test
+    void manyVariables() {
+        String[] names = new String[300];
+        double[] values = new double[300];
+        StringBuilder sum = new StringBuilder();
+        for (int i = 0; i < names.length; i++) {
+            names[i] = "v" + i;
+            values[i] = i;
+            sum.append(i == 0 ? "" : "+").append(names[i]);
+        }
+        assertEquals(299 * 300 / 2.0, Unified_Calc.JitCompiler.compile(calc.compile(sum.toString(), names)).run(values));
+    }
+
+    // HotSpot would leave a method this long in its bytecode interpreter
+    @Test
+    void hugePlansStayInterpreted() {
+        assertNull(Unified_Calc.JitCompiler.compile(calc.compile(Unified_Calc.ExpressionGenerator.generate(10_000, 4, 50, 1, "x"), "x")));
+    }
+
+    @Test
+    void executeSwitchesToCompiledCodeWhenHot() {
+        Unified_Calc.CompiledExpression plan = calc.compile("(x+1)*(y-2)/x", "x", "y");
+        for (int i = 1; i < Unified_Calc.JitCalculator.HOT_THRESHOLD; i++) plan.execute(i, 5);
+        assertNull(plan.jit);
+        assertEquals(3.75, plan.execute(4, 5).value);
+        assertNotNull(plan.jit);
+        assertEquals(3.75, plan.execute(4, 5).value);
+        assertThrows(ArithmeticException.class, () -> plan.execute(0, 5));
+    }
+
+    @Test
+    void calculatorSwitchesToCompiledCodeWhenHot() {
+        Unified_Calc.JitCalculator jit = new Unified_Calc.JitCalculator();
+        String expr = Unified_Calc.ExpressionGenerator.generate(50, 3, 50, 2);
+        // The first call compiles the plan; the next HOT_THRESHOLD calls count as repeats
+        for (int i = 0; i <= Unified_Calc.JitCalculator.HOT_THRESHOLD; i++) jit.evaluate(expr);
+        assertNotNull(jit.hot);
+        assertEquals(calc.evaluate(expr).toString(), jit.evaluate(expr).toString());
+        jit.evaluate("1+1");
+        assertNull(jit.hot);
+        // Coming back to a compiled expression reuses its class
+        jit.evaluate(expr);
+        assertNotNull(jit.hot);
+    }
+}
@@ -0,0 +1,58 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class PrimitiveStackTest {
+    static String outcome(Unified_Calc.NumberWrapper w) {
+        return w.isFloat + ":" + w.value;
+    }
+
+    @Test
+    void streamingMatchesStringEvaluation() throws IOException {
+        Random r = new Random(3);
+        Unified_Calc.PrimitiveCalculator primitive = new Unified_Calc.PrimitiveCalculator();
+        Unified_Calc.LinkedListCalculator ref = new Unified_Calc.LinkedListCalculator();
+        for (int k = 0; k < 3000; k++) {
+            String expr = Unified_Calc.ExpressionGenerator.generate(1 + r.nextInt(3000), r.nextInt(6), 40, k);
+            StringBuilder spaced = new StringBuilder();
+            for (char c : expr.toCharArray()) {
+                spaced.append(c);
+                if (r.nextInt(10) == 0) spaced.append(' ');
+            }
+            assertEquals(outcome(ref.evaluate(expr)), outcome(primitive.evaluate(new StringReader(spaced.toString()))), expr);
+        }
+    }
+
+    // Streams far longer than any buffer the engine keeps
+    @Test
+    void longStream() throws IOException {
+        int terms = 2_000_000;
+        Reader in = new Reader() {
+            int pos;
+
+            @Override
+            public int read(char[] buf, int off, int len) {
+                int total = 2 * terms - 1;
+                if (pos >= total) return -1;
+                int n = Math.min(len, total - pos);
+                for (int i = 0; i < n; i++, pos++) buf[off + i] = pos % 2 == 0 ? '1' : '+';
+                return n;
+            }
+
+            @Override
+            public void close() { }
+        };
+        assertEquals(String.valueOf(terms), new Unified_Calc.PrimitiveCalculator().evaluate(in).toString());
+    }
+
+    @Test
+    void evaluateValueDoesNotNeedAString() {
+        Unified_Calc.PrimitiveCalculator calc = new Unified_Calc.PrimitiveCalculator();
+        assertEquals(7.5, calc.evaluateValue(new StringBuilder("2.5*3")));
+        assertEquals(true, calc.stack.resultFloat);
+    }
+}
@@ -0,0 +1,60 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class ValidExpressionTest {
+    // The regex rules invalidIndex replaced, kept as the reference for the single-scan version
+    static boolean regexValid(String expr) {
+        if (expr.isEmpty()) return false;
+        if (!expr.matches("[0-9+\\-*/%().\\s]*")) return false;
+        if (expr.matches(".*([+*/%.-])\\1+.*")) return false;
+        if (expr.matches(".*\\d*\\.\\d*\\.\\d*.*")) return false;
+        if (expr.matches("^[+*/%]+.*") || expr.matches(".*[+*/%.-]$")) return false;
+        if (expr.matches(".*\\)\\s*[0-9.].*")) return false;
+        int balance = 0;
+        for (char ch : expr.toCharArray()) {
+            if (ch == '(') balance++;
+            else if (ch == ')') balance--;
+            if (balance < 0) return false;
+        }
+        return balance == 0;
+    }
+
+    @Test
+    void agreesWithRegexRules() {
+        Random r = new Random(1);
+        String alphabet = "0123456789+-*/%().. ax";
+        List<String> mismatches = new ArrayList<>();
+        for (int i = 0; i < 500_000; i++) {
+            StringBuilder b = new StringBuilder();
+            for (int k = r.nextInt(9); k > 0; k--) b.append(alphabet.charAt(r.nextInt(alphabet.length())));
+            String expr = b.toString();
+            if (regexValid(expr) != Unified_Calc.Calculator.invalidIndex(expr) < 0) mismatches.add("'" + expr + "'");
+        }
+        assertEquals(List.of(), mismatches.subList(0, Math.min(10, mismatches.size())));
+    }
+
+    @Test
+    void reportsFirstOffendingPosition() {
+        assertEquals(-1, Unified_Calc.Calculator.invalidIndex("2*(3+4)"));
+        assertEquals(0, Unified_Calc.Calculator.invalidIndex(""));
+        assertEquals(0, Unified_Calc.Calculator.invalidIndex("*2"));
+        assertEquals(2, Unified_Calc.Calculator.invalidIndex("1+a"));
+        assertEquals(2, Unified_Calc.Calculator.invalidIndex("1++2"));
+        assertEquals(3, Unified_Calc.Calculator.invalidIndex("1.2.3"));
+        assertEquals(1, Unified_Calc.Calculator.invalidIndex("1+"));
+        assertEquals(0, Unified_Calc.Calculator.invalidIndex("(1+2"));
+        assertEquals(5, Unified_Calc.Calculator.invalidIndex("(1+2)5"));
+        assertEquals(4, Unified_Calc.Calculator.invalidIndex("(2) 3"));
+    }
+
+    @Test
+    void normalizeStripsWhitespace() {
+        String plain = "1+2";
+        assertEquals(plain, Unified_Calc.Calculator.normalize(plain));
+        assertEquals("1+2*3", Unified_Calc.Calculator.normalize(" 1 +\t2 * 3\r\n"));
+    }
+}
@@ -0,0 +1,451 @@
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Bounded JDBC connection pool shared by the login check and every JavaCrudApp operation.
+// borrow() hands out a proxy whose close() returns the physical connection to the pool,
+// so callers keep using try-with-resources exactly as they did with DriverManager.
+public class ConnectionPool implements AutoCloseable {
+
+    public static final int DEFAULT_MIN_SIZE = 1;
+    public static final int DEFAULT_MAX_SIZE = 4;
+    public static final long DEFAULT_IDLE_TIMEOUT_MILLIS = 5 * 60_000L;
+    public static final long DEFAULT_LEAK_THRESHOLD_MILLIS = 60_000L;
+
+    static final long BORROW_TIMEOUT_MILLIS = 30_000L;
+    static final long HOUSEKEEPING_PERIOD_MILLIS = 15_000L;
+    static final int VALIDATION_TIMEOUT_SECONDS = 2;
+    // Connections returned within this window skip the isValid round-trip on borrow
+    static final long VALIDATION_BYPASS_MILLIS = 1_000L;
+    // Prepared statements kept open per physical connection, least recently used closed first
+    static final int STATEMENT_CACHE_SIZE = 32;
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int minSize;
+    private final int maxSize;
+    private final long idleTimeoutMillis;
+    private final long leakThresholdMillis;
+
+    // Most recently returned first, so the tail holds the longest-idle connections
+    private final Deque<PooledConnection> idle = new ArrayDeque<>();
+    private final List<PooledConnection> borrowed = new ArrayList<>();
+    private final ScheduledExecutorService housekeeper;
+
+    // idle + borrowed + connections currently being opened
+    private int total;
+    private boolean closed;
+    private long opened, evicted, invalidated, waits, leaks;
+    private long statementHits, statementMisses;
+
+    public ConnectionPool(String url, String user, String password) throws SQLException {
+        this(url, user, password, DEFAULT_MIN_SIZE, DEFAULT_MAX_SIZE,
+             DEFAULT_IDLE_TIMEOUT_MILLIS, DEFAULT_LEAK_THRESHOLD_MILLIS);
+    }
+
+    // Opens minSize connections up front, so bad credentials fail here rather than on first use
+    public ConnectionPool(String url, String user, String password, int minSize, int maxSize,
+                          long idleTimeoutMillis, long leakThresholdMillis) throws SQLException {
+        if (minSize < 0 || maxSize < 1 || minSize > maxSize) {
+            throw new IllegalArgumentException("Invalid pool size: min " + minSize + ", max " + maxSize);
+        }
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.leakThresholdMillis = leakThresholdMillis;
+
+        try {
+            for (int i = 0; i < Math.max(1, minSize); i++) {
+                PooledConnection pc = open();
+                total++;
+                idle.addFirst(pc);
+            }
+        } catch (SQLException e) {
+            for (PooledConnection pc : idle) pc.closeQuietly();
+            throw e;
+        }
+
+        housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "connection-pool-housekeeper");
+            t.setDaemon(true);
+            return t;
+        });
+        housekeeper.scheduleWithFixedDelay(this::houseKeep, HOUSEKEEPING_PERIOD_MILLIS,
+                                           HOUSEKEEPING_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    // Waits up to BORROW_TIMEOUT_MILLIS when all maxSize connections are in use
+    public Connection borrow() throws SQLException {
+        long deadline = System.currentTimeMillis() + BORROW_TIMEOUT_MILLIS;
+        boolean waited = false;
+        while (true) {
+            PooledConnection pc;
+            boolean mustOpen = false;
+            synchronized (this) {
+                while (true) {
+                    if (closed) throw new SQLException("Connection pool is closed");
+                    pc = idle.pollFirst();
+                    if (pc != null) break;
+                    if (total < maxSize) {
+                        total++;
+                        mustOpen = true;
+                        break;
+                    }
+                    long remaining = deadline - System.currentTimeMillis();
+                    if (remaining <= 0) {
+                        throw new SQLException("Connection pool exhausted: all " + maxSize + " connections in use");
+                    }
+                    if (!waited) {
+                        waits++;
+                        waited = true;
+                    }
+                    try {
+                        wait(remaining);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new SQLException("Interrupted while waiting for a pooled connection", e);
+                    }
+                }
+            }
+
+            if (mustOpen) {
+                try {
+                    pc = open();
+                } catch (SQLException e) {
+                    synchronized (this) {
+                        total--;
+                        notifyAll();
+                    }
+                    throw e;
+                }
+            } else if (!isValid(pc)) {
+                pc.closeQuietly();
+                synchronized (this) {
+                    total--;
+                    invalidated++;
+                    notifyAll();
+                }
+                continue;
+            }
+
+            synchronized (this) {
+                pc.borrowedAt = System.currentTimeMillis();
+                pc.borrowSite = new Throwable("Connection borrowed here");
+                pc.leakReported = false;
+                borrowed.add(pc);
+            }
+            return (Connection) Proxy.newProxyInstance(ConnectionPool.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, new Lease(pc));
+        }
+    }
+
+    public synchronized String stats() {
+        return String.format("Pool: %d active, %d idle, %d max | opened %d, evicted %d, invalid %d, waits %d, leaks %d"
+                        + " | statement cache %d hits, %d misses",
+                borrowed.size(), idle.size(), maxSize, opened, evicted, invalidated, waits, leaks,
+                statementHits, statementMisses);
+    }
+
+    @Override
+    public void close() {
+        List<PooledConnection> toClose;
+        synchronized (this) {
+            if (closed) return;
+            closed = true;
+            toClose = new ArrayList<>(idle);
+            total -= idle.size();
+            idle.clear();
+            notifyAll();
+        }
+        housekeeper.shutdownNow();
+        // Borrowed connections are closed as they come back in release()
+        for (PooledConnection pc : toClose) pc.closeQuietly();
+    }
+
+    private PooledConnection open() throws SQLException {
+        Connection conn = DriverManager.getConnection(url, user, password);
+        synchronized (this) {
+            opened++;
+        }
+        return new PooledConnection(conn);
+    }
+
+    private boolean isValid(PooledConnection pc) {
+        if (System.currentTimeMillis() - pc.lastReturned < VALIDATION_BYPASS_MILLIS) return true;
+        try {
+            return pc.connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void release(PooledConnection pc) {
+        boolean reusable;
+        try {
+            // Never hand the next borrower someone else's open transaction
+            if (!pc.connection.getAutoCommit()) {
+                pc.connection.rollback();
+                pc.connection.setAutoCommit(true);
+            }
+            reusable = !pc.connection.isClosed();
+        } catch (SQLException e) {
+            reusable = false;
+        }
+        // Statements the caller forgot to close go back to the cache with the connection
+        for (CachedStatement cached : pc.statements.values()) cached.inUse = false;
+
+        synchronized (this) {
+            borrowed.remove(pc);
+            pc.borrowSite = null;
+            if (reusable && !closed) {
+                pc.lastReturned = System.currentTimeMillis();
+                idle.addFirst(pc);
+            } else {
+                total--;
+            }
+            notifyAll();
+        }
+        if (!reusable || closed) pc.closeQuietly();
+    }
+
+    // Runs on the housekeeper thread: evicts long-idle connections, tops the pool back up to
+    // minSize and reports connections that have been out for longer than the leak threshold.
+    private void houseKeep() {
+        List<PooledConnection> expired = new ArrayList<>();
+        int missing;
+        synchronized (this) {
+            if (closed) return;
+            long now = System.currentTimeMillis();
+            Iterator<PooledConnection> it = idle.descendingIterator();
+            while (it.hasNext() && total > minSize) {
+                PooledConnection pc = it.next();
+                if (now - pc.lastReturned < idleTimeoutMillis) break;
+                it.remove();
+                expired.add(pc);
+                total--;
+                evicted++;
+            }
+            for (PooledConnection pc : borrowed) {
+                if (!pc.leakReported && now - pc.borrowedAt > leakThresholdMillis) {
+                    pc.leakReported = true;
+                    leaks++;
+                    System.err.println("Possible connection leak: connection borrowed "
+                            + (now - pc.borrowedAt) / 1000 + " s ago has not been returned");
+                    pc.borrowSite.printStackTrace();
+                }
+            }
+            missing = minSize - total;
+            total += Math.max(0, missing);
+        }
+        for (PooledConnection pc : expired) pc.closeQuietly();
+
+        for (int i = 0; i < missing; i++) {
+            try {
+                PooledConnection pc = open();
+                synchronized (this) {
+                    if (closed) {
+                        total--;
+                        pc.closeQuietly();
+                    } else {
+                        idle.addLast(pc);
+                        notifyAll();
+                    }
+                }
+            } catch (SQLException e) {
+                synchronized (this) {
+                    total -= missing - i;
+                }
+                return;
+            }
+        }
+    }
+
+    // Prepared statements are cached on the physical connection, keyed by SQL text, so a repeated
+    // statement reuses its open cursor instead of being parsed again. Only the plain
+    // prepareStatement(sql) form is cached; other variants go straight to the driver.
+    private PreparedStatement prepareCached(PooledConnection pc, String sql) throws SQLException {
+        CachedStatement cached = pc.statements.get(sql);
+        if (cached != null && cached.inUse) {
+            // Same SQL already open in this borrow: hand out a private, uncached statement
+            synchronized (this) {
+                statementMisses++;
+            }
+            return pc.connection.prepareStatement(sql);
+        }
+        synchronized (this) {
+            if (cached != null) statementHits++;
+            else statementMisses++;
+        }
+        if (cached == null) {
+            cached = new CachedStatement(pc.connection.prepareStatement(sql));
+            pc.statements.put(sql, cached);
+        }
+        cached.inUse = true;
+        return (PreparedStatement) Proxy.newProxyInstance(ConnectionPool.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class}, new StatementLease(cached));
+    }
+
+    private static final class PooledConnection {
+        final Connection connection;
+        // Only touched by the thread that has the connection borrowed
+        final Map<String, CachedStatement> statements = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedStatement> eldest) {
+                if (size() <= STATEMENT_CACHE_SIZE) return false;
+                eldest.getValue().evict();
+                return true;
+            }
+        };
+        long lastReturned;
+        long borrowedAt;
+        Throwable borrowSite;
+        boolean leakReported;
+
+        PooledConnection(Connection connection) {
+            this.connection = connection;
+            this.lastReturned = System.currentTimeMillis();
+        }
+
+        void closeQuietly() {
+            try {
+                connection.close();
+            } catch (SQLException ignored) {
+            }
+        }
+    }
+
+    private static final class CachedStatement {
+        final PreparedStatement statement;
+        boolean inUse;
+        boolean evicted;
+
+        CachedStatement(PreparedStatement statement) {
+            this.statement = statement;
+        }
+
+        // Dropped from the cache; closed now, or when its current user closes it
+        void evict() {
+            evicted = true;
+            if (!inUse) closeQuietly();
+        }
+
+        void closeQuietly() {
+            try {
+                statement.close();
+            } catch (SQLException ignored) {
+            }
+        }
+    }
+
+    // Handle on a cached statement for one prepareStatement call: close() clears the binds and
+    // keeps the statement open for the next caller instead of closing the cursor.
+    private static final class StatementLease implements InvocationHandler {
+        private final CachedStatement cached;
+        private boolean returned;
+
+        StatementLease(CachedStatement cached) {
+            this.cached = cached;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!returned) {
+                        returned = true;
+                        cached.inUse = false;
+                        if (cached.evicted) {
+                            cached.closeQuietly();
+                        } else {
+                            try {
+                                cached.statement.clearParameters();
+                            } catch (SQLException e) {
+                                cached.evicted = true;
+                                cached.closeQuietly();
+                            }
+                        }
+                    }
+                    return null;
+                case "isClosed":
+                    if (returned) return true;
+                    break;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Cached " + cached.statement;
+                default:
+                    break;
+            }
+            if (returned) throw new SQLException("Statement has already been closed");
+            try {
+                return method.invoke(cached.statement, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    // One lease per borrow, so a stale handle closed twice cannot return a connection
+    // that has since been handed to someone else.
+    private final class Lease implements InvocationHandler {
+        private final PooledConnection pc;
+        private boolean returned;
+
+        Lease(PooledConnection pc) {
+            this.pc = pc;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!returned) {
+                        returned = true;
+                        release(pc);
+                    }
+                    return null;
+                case "isClosed":
+                    if (returned) return true;
+                    break;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Pooled " + pc.connection;
+                case "prepareStatement":
+                    if (!returned && args.length == 1) return prepareCached(pc, (String) args[0]);
+                    break;
+                default:
+                    break;
+            }
+            if (returned) throw new SQLException("Connection has already been returned to the pool");
+            try {
+                return method.invoke(pc.connection, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -12,22 +12,40 @@ import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableListBase;
+import oracle.jdbc.OracleTypes;
+import java.math.BigDecimal;
 import java.sql.*;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
 
 public class JavaCrudApp extends Application {
 
     public static final String DB_URL = "jdbc:oracle:thin:@localhost:1521:xe";
     public static final String DB_USER = "system"; 
-    private String currentDbPassword; 
+    private ConnectionPool pool;
     private VBox operationPanel;
     private VBox queryPanel;
     private VBox outputPanel;
     private TextArea queryTextArea;
     private TextArea outputTextArea;
     private TableView<TableRowData> resultTable;
+    private Label poolStatsLabel;
+    private HBox progressBox;
+    private Label progressLabel;
+    private Button cancelBtn;
     private String currentOperation = "";
     private TextField tableNameField;
     private ComboBox<String> tableDropdown;
@@ -42,6 +60,223 @@ public class JavaCrudApp extends Application {
     private Button deleteSelectedBtn;
     private CheckBox selectAllCheckBox;
 
+    // JDBC work runs on this thread so the FX thread never blocks on the database
+    private final ExecutorService dbExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "jdbc-worker");
+        t.setDaemon(true);
+        return t;
+    });
+    private volatile Statement runningStatement;
+    private volatile boolean cancelRequested;
+    private int pendingTasks;
+
+    interface DatabaseTask<T> {
+        T run(Connection conn) throws SQLException;
+    }
+
+    private record ColumnInfo(String name, String type, int size) { }
+
+    // Rows per SELECT page (also the JDBC fetch size) and the most rows kept in the table at once.
+    // Override with -Dcrud.fetchSize=... and -Dcrud.maxRows=...
+    static final int FETCH_SIZE = Integer.getInteger("crud.fetchSize", 200);
+    static final int MAX_RESULT_ROWS = Integer.getInteger("crud.maxRows", 100_000);
+    // Start fetching the next page when a row this close to the end is shown
+    static final int PREFETCH_ROWS = 50;
+
+    private ResultPager activePager;
+
+    // Paging state of the SELECT currently shown in resultTable; only touched on the FX thread
+    private static final class ResultPager {
+        // Alias of the row number column the page window adds after the query's own columns
+        static final String ROW_NUMBER_COLUMN = "PAGE_ROW$";
+
+        final BoundSql query;
+        final int pageSize;
+        final int maxRows;
+        ResultRows rows;
+        int loadedRows;
+        boolean loading;
+        boolean exhausted;
+
+        ResultPager(BoundSql query, int pageSize, int maxRows) {
+            this.query = query;
+            this.pageSize = pageSize;
+            this.maxRows = maxRows;
+        }
+
+        int nextLimit() {
+            return Math.min(pageSize, maxRows - loadedRows);
+        }
+
+        // The user's SELECT runs as written, ORDER BY included, inside a ROWNUM window, which
+        // also works before Oracle 12c. Every page re-runs it and skips the rows already loaded,
+        // so without an ORDER BY rows can shift between pages if the table changes meanwhile.
+        // Page k makes the server produce k * pageSize rows again, so scrolling to maxRows costs
+        // about maxRows^2 / (2 * pageSize) rows of work (25M with the defaults); maxRows is what
+        // keeps this bounded, so raise it with that cost in mind.
+        BoundSql pageQuery(int limit) {
+            String sql = "SELECT * FROM (SELECT q.*, ROWNUM AS " + ROW_NUMBER_COLUMN + " FROM (" + query.sql()
+                    + ") q WHERE ROWNUM <= ?) WHERE " + ROW_NUMBER_COLUMN + " > ?";
+            List<Object> binds = new ArrayList<>(query.binds());
+            binds.add(loadedRows + limit);
+            binds.add(loadedRows);
+            return new BoundSql(sql, binds);
+        }
+    }
+
+    // cells holds rowCount rows of columnNames.size() values each, row-major
+    private record ResultPage(List<String> columnNames, String[] cells, int rowCount, boolean last) { }
+
+    // SQL text plus the values for its ? placeholders, in order
+    record BoundSql(String sql, List<Object> binds) {
+
+        // Words after which a literal is part of the syntax, not a value: DATE '2024-01-01',
+        // INTERVAL '1' DAY, ORDER BY 1
+        private static final Set<String> LITERAL_SYNTAX_WORDS = Set.of("DATE", "TIMESTAMP", "INTERVAL", "BY");
+        // Words after which "(" opens an expression or IN list rather than a function call or type
+        private static final Set<String> EXPRESSION_WORDS = Set.of(
+                "IN", "AND", "OR", "NOT", "WHERE", "WHEN", "THEN", "ELSE", "BETWEEN", "LIKE", "SELECT", "EXISTS");
+        // Clause words that end an ORDER BY / GROUP BY / PARTITION BY list
+        private static final Set<String> BY_LIST_END_WORDS = Set.of(
+                "SELECT", "FROM", "WHERE", "GROUP", "HAVING", "ORDER", "UNION", "INTERSECT", "MINUS", "EXCEPT",
+                "FETCH", "OFFSET", "FOR", "ROWS", "RANGE");
+
+        static BoundSql of(String sql) {
+            return new BoundSql(sql, List.of());
+        }
+
+        // Replaces the value literals of a user-written clause with ? so different values share
+        // one cursor. Literals in function arguments, type lengths and typed literals are left as
+        // written. A clause with comments, prefixed quotes (N'..', q'[..]') or an unterminated
+        // quote is returned unchanged.
+        // Not covered: literals left in place still get one cursor per value, and a bound value
+        // on a skewed column may reuse a plan peeked for another value where the literal would
+        // have been optimized on its own.
+        static BoundSql parameterize(String clause) {
+            StringBuilder sql = new StringBuilder(clause.length());
+            List<Object> binds = new ArrayList<>();
+            // One entry per open paren: true when it holds plain values rather than call arguments
+            Deque<Boolean> parens = new ArrayDeque<>();
+            String prevWord = null;
+            char prevSymbol = 0;
+            // Paren depth of the BY list being read, -1 outside one
+            int byListDepth = -1;
+            int i = 0, n = clause.length();
+            while (i < n) {
+                char c = clause.charAt(i);
+                if (Character.isWhitespace(c)) {
+                    sql.append(c);
+                    i++;
+                    continue;
+                }
+                boolean valuePosition = prevWord != null
+                        ? !LITERAL_SYNTAX_WORDS.contains(prevWord)
+                        : prevSymbol == 0 || "=<>+-*/|".indexOf(prevSymbol) >= 0
+                          || ("(,".indexOf(prevSymbol) >= 0 && (parens.isEmpty() || parens.peek()));
+                // In ORDER BY name, 2 the 2 is a column position, just like the 1 in ORDER BY 1
+                if (prevSymbol == ',' && parens.size() == byListDepth) valuePosition = false;
+                int start = i;
+
+                if (c == '\'') {
+                    StringBuilder value = new StringBuilder();
+                    i++;
+                    while (true) {
+                        if (i >= n) return of(clause);
+                        char q = clause.charAt(i++);
+                        if (q != '\'') value.append(q);
+                        else if (i < n && clause.charAt(i) == '\'') value.append(clause.charAt(i++));
+                        else break;
+                    }
+                    appendLiteral(sql, binds, valuePosition, clause.substring(start, i), value.toString());
+                    prevWord = null;
+                    prevSymbol = '\'';
+                } else if (Character.isDigit(c) || (c == '.' && i + 1 < n && Character.isDigit(clause.charAt(i + 1)))) {
+                    while (i < n && (Character.isDigit(clause.charAt(i)) || clause.charAt(i) == '.')) i++;
+                    if (i < n && (clause.charAt(i) == 'e' || clause.charAt(i) == 'E')) {
+                        int exp = i + 1;
+                        if (exp < n && (clause.charAt(exp) == '+' || clause.charAt(exp) == '-')) exp++;
+                        if (exp < n && Character.isDigit(clause.charAt(exp))) {
+                            i = exp;
+                            while (i < n && Character.isDigit(clause.charAt(i))) i++;
+                        }
+                    }
+                    String text = clause.substring(start, i);
+                    Object value;
+                    try {
+                        value = new BigDecimal(text);
+                    } catch (NumberFormatException e) {
+                        return of(clause);
+                    }
+                    appendLiteral(sql, binds, valuePosition, text, value);
+                    prevWord = null;
+                    prevSymbol = '0';
+                } else if (Character.isLetter(c) || c == '_') {
+                    while (i < n && (Character.isLetterOrDigit(clause.charAt(i)) || "_$#".indexOf(clause.charAt(i)) >= 0)) i++;
+                    if (i < n && clause.charAt(i) == '\'') return of(clause);
+                    sql.append(clause, start, i);
+                    prevWord = clause.substring(start, i).toUpperCase();
+                    prevSymbol = 0;
+                    if (prevWord.equals("BY")) byListDepth = parens.size();
+                    else if (BY_LIST_END_WORDS.contains(prevWord) && parens.size() <= byListDepth) byListDepth = -1;
+                } else if (c == '"') {
+                    int close = clause.indexOf('"', i + 1);
+                    if (close < 0) return of(clause);
+                    i = close + 1;
+                    sql.append(clause, start, i);
+                    prevWord = "\"";
+                    prevSymbol = 0;
+                } else if ((c == '-' && clause.startsWith("--", i)) || (c == '/' && clause.startsWith("/*", i))) {
+                    return of(clause);
+                } else {
+                    if (c == '(') parens.push(prevWord == null || EXPRESSION_WORDS.contains(prevWord));
+                    else if (c == ')' && !parens.isEmpty()) parens.pop();
+                    if (parens.size() < byListDepth) byListDepth = -1;
+                    sql.append(c);
+                    i++;
+                    prevWord = null;
+                    prevSymbol = c;
+                }
+            }
+            return new BoundSql(sql.toString(), binds);
+        }
+
+        private static void appendLiteral(StringBuilder sql, List<Object> binds, boolean bind, String text, Object value) {
+            if (bind) {
+                sql.append('?');
+                binds.add(value);
+            } else {
+                sql.append(text);
+            }
+        }
+
+        // Binds the values starting at parameter index first; returns the next free index.
+        // Text goes in as FIXED_CHAR, the type of a quoted literal, so comparisons keep the
+        // literal's semantics: blank-padded against CHAR(n) columns (WHERE code = 'AB' still
+        // matches 'AB   '), non-padded against VARCHAR2. A plain VARCHAR2 bind would make every
+        // CHAR comparison non-padded and miss those rows.
+        int bindTo(PreparedStatement stmt, int first) throws SQLException {
+            for (Object value : binds) {
+                if (value instanceof String) stmt.setObject(first++, value, OracleTypes.FIXED_CHAR);
+                else stmt.setObject(first++, value);
+            }
+            return first;
+        }
+
+        // The SQL as shown in the output panel, with the bound values listed after it
+        String describe() {
+            if (binds.isEmpty()) return sql;
+            StringBuilder text = new StringBuilder(sql).append("\n-- binds:");
+            for (int i = 0; i < binds.size(); i++) {
+                Object value = binds.get(i);
+                text.append(i == 0 ? " " : ", ").append(':').append(i + 1).append(" = ");
+                if (value instanceof BigDecimal number) text.append(number.toPlainString());
+                else if (value instanceof Number) text.append(value);
+                else text.append('\'').append(String.valueOf(value).replace("'", "''")).append('\'');
+            }
+            return text.toString();
+        }
+    }
+
     @Override
     public void start(Stage primaryStage) {
 
@@ -49,7 +284,7 @@ public class JavaCrudApp extends Application {
         loginScreen.display(primaryStage);
 
         if (loginScreen.isLoginSuccessful()) {
-            this.currentDbPassword = loginScreen.getPassword(); 
+            this.pool = loginScreen.getPool();
 
             primaryStage.setTitle("Oracle Database Management System - JDBC CRUD Operations");
             primaryStage.setFullScreen(false); 
@@ -82,6 +317,12 @@ public class JavaCrudApp extends Application {
         }
     }
 
+    @Override
+    public void stop() {
+        dbExecutor.shutdownNow();
+        if (pool != null) pool.close();
+    }
+
     private void initializeComponents() {
         columnRows = new ArrayList<>();
         userTables = new ArrayList<>();
@@ -100,6 +341,22 @@ public class JavaCrudApp extends Application {
                                "-fx-border-radius: 8; -fx-font-size: 16px;");
         outputTextArea.setWrapText(true);
 
+        poolStatsLabel = new Label();
+        poolStatsLabel.setStyle("-fx-text-fill: #718096; -fx-font-size: 12px;");
+        poolStatsLabel.setWrapText(true);
+
+        ProgressIndicator progressIndicator = new ProgressIndicator();
+        progressIndicator.setPrefSize(24, 24);
+        progressLabel = new Label();
+        progressLabel.setStyle("-fx-text-fill: #4a5568; -fx-font-size: 14px;");
+        cancelBtn = new Button("Cancel");
+        cancelBtn.setStyle("-fx-background-color: #e53e3e; -fx-text-fill: white; -fx-background-radius: 6; -fx-cursor: hand;");
+        cancelBtn.setOnAction(e -> cancelRunning());
+        progressBox = new HBox(10, progressIndicator, progressLabel, cancelBtn);
+        progressBox.setAlignment(Pos.CENTER_LEFT);
+        progressBox.setVisible(false);
+        progressBox.setManaged(false);
+
         resultTable = new TableView<>();
         resultTable.setPrefHeight(200);
         resultTable.setStyle("-fx-background-color: white; -fx-border-color: #e2e8f0; -fx-border-radius: 8;");
@@ -112,6 +369,7 @@ public class JavaCrudApp extends Application {
                     row.setStyle("");
                 }
             });
+            row.indexProperty().addListener((obs, oldIndex, newIndex) -> loadMoreIfNear(newIndex.intValue()));
             return row;
         });
 
@@ -307,7 +565,8 @@ public class JavaCrudApp extends Application {
         HBox.setHgrow(tableHeaderBox.getChildren().get(1), Priority.ALWAYS);
 
         outputPanel.getChildren().addAll(title, new Separator(), queryLabel, queryTextArea,
-                                         outputLabel, outputTextArea, tableHeaderBox, resultTable);
+                                         outputLabel, outputTextArea, progressBox, poolStatsLabel, tableHeaderBox, resultTable);
+        refreshPoolStats();
     }
 
     private void showOperationForm(String operation) {
@@ -560,98 +819,201 @@ public class JavaCrudApp extends Application {
         if (tableName == null || tableName.isEmpty()) return;
 
         insertFieldsContainer.getChildren().clear();
+        VBox fieldsContainer = insertFieldsContainer;
 
-        try (Connection conn = DriverManager.getConnection(DB_URL, DB_USER, currentDbPassword)) { 
+        runAsync("Loading columns of " + tableName, conn -> {
+            List<ColumnInfo> fields = new ArrayList<>();
             DatabaseMetaData metaData = conn.getMetaData();
-            ResultSet columns = metaData.getColumns(null, null, tableName.toUpperCase(), null); 
-
-            boolean hasColumns = false;
-            while (columns.next()) {
-                hasColumns = true;
-                String columnName = columns.getString("COLUMN_NAME");
-                String dataType = columns.getString("TYPE_NAME");
-                int columnSize = columns.getInt("COLUMN_SIZE");
+            try (ResultSet columns = metaData.getColumns(null, null, tableName.toUpperCase(), null)) {
+                while (columns.next()) {
+                    checkCancelled();
+                    fields.add(new ColumnInfo(columns.getString("COLUMN_NAME"), columns.getString("TYPE_NAME"),
+                                              columns.getInt("COLUMN_SIZE")));
+                }
+            }
+            return fields;
+        }, fields -> {
+            // The user may have picked another table or form while this one was loading
+            if (fieldsContainer != insertFieldsContainer || !tableName.equals(tableDropdown.getValue())) return;
 
+            for (ColumnInfo field : fields) {
                 HBox fieldRow = new HBox(10);
                 fieldRow.setAlignment(Pos.CENTER_LEFT);
 
-                Label label = new Label(columnName);
+                Label label = new Label(field.name());
                 label.setPrefWidth(150);
                 label.setStyle("-fx-font-weight: bold; -fx-text-fill: #2d3748; -fx-font-size: 14px;");
 
                 TextField valueField = new TextField();
-                valueField.setPromptText("Enter " + columnName.toLowerCase());
+                valueField.setPromptText("Enter " + field.name().toLowerCase());
                 valueField.setPrefWidth(250);
                 valueField.setPrefHeight(35);
                 valueField.setStyle("-fx-background-radius: 6; -fx-border-color: #cbd5e0; -fx-border-radius: 6; -fx-font-size: 14px;");
 
-                Label typeLabel = new Label(dataType + "(" + columnSize + ")");
+                Label typeLabel = new Label(field.type() + "(" + field.size() + ")");
                 typeLabel.setStyle("-fx-text-fill: #718096; -fx-font-size: 12px;");
 
                 VBox fieldInfo = new VBox(2);
                 fieldInfo.getChildren().addAll(valueField, typeLabel);
 
                 fieldRow.getChildren().addAll(label, fieldInfo);
-                insertFieldsContainer.getChildren().add(fieldRow);
+                fieldsContainer.getChildren().add(fieldRow);
             }
 
-            if (!hasColumns) {
+            if (fields.isEmpty()) {
                 Label noFields = new Label("Table '" + tableName + "' not found or has no columns.");
                 noFields.setStyle("-fx-text-fill: #e53e3e; -fx-font-weight: bold; -fx-font-size: 14px;");
-                insertFieldsContainer.getChildren().add(noFields);
+                fieldsContainer.getChildren().add(noFields);
             }
-
-        } catch (SQLException e) {
+        }, e -> {
             showAlert("Database Error", "Error loading table fields: " + e.getMessage());
             outputTextArea.setText("Error: " + e.getMessage());
-        }
+        });
     }
 
     private void loadUserTables() {
-        userTables.clear();
-
-        try (Connection conn = DriverManager.getConnection(DB_URL, DB_USER, currentDbPassword); 
-             Statement stmt = conn.createStatement()) {
-
-            String query = "SELECT object_name FROM user_objects WHERE object_type = 'TABLE' ORDER BY created DESC";
-            ResultSet rs = stmt.executeQuery(query);
+        loadUserTables(true);
+    }
 
-            while (rs.next()) {
-                userTables.add(rs.getString("object_name"));
+    // report is false when the list is refreshed after a query, so the query's own result stays visible
+    private void loadUserTables(boolean report) {
+        runAsync("Loading user tables", conn -> {
+            List<String> tables = new ArrayList<>();
+            try (Statement stmt = track(conn.createStatement());
+                 ResultSet rs = stmt.executeQuery(
+                         "SELECT object_name FROM user_objects WHERE object_type = 'TABLE' ORDER BY created DESC")) {
+                while (rs.next()) {
+                    tables.add(rs.getString("object_name"));
+                }
             }
-
+            return tables;
+        }, tables -> {
+            userTables.clear();
+            userTables.addAll(tables);
             if (tableDropdown != null) {
-                tableDropdown.getItems().clear();
-                tableDropdown.getItems().addAll(userTables);
+                tableDropdown.getItems().setAll(userTables);
             }
-            outputTextArea.setText("Successfully loaded user tables.");
-
-        } catch (SQLException e) {
+            if (report) outputTextArea.setText("Successfully loaded user tables.");
+        }, e -> {
             showAlert("Database Error", "Error loading user tables: " + e.getMessage());
             outputTextArea.setText("Error loading user tables: " + e.getMessage());
-        }
+        });
     }
 
     private void testConnection() {
-        try (Connection conn = DriverManager.getConnection(DB_URL, DB_USER, currentDbPassword)) {
-            if (conn != null) {
+        // borrow() validates the connection, so a dead session surfaces here as an error
+        runAsync("Testing connection", conn -> conn.isValid(ConnectionPool.VALIDATION_TIMEOUT_SECONDS), valid -> {
+            if (valid) {
                 showAlert("Connection Successful", "Connected to Oracle Database!");
                 outputTextArea.setText("Connection Successful: Connected to Oracle Database!");
             } else {
                 showAlert("Connection Failed", "Failed to establish database connection.");
                 outputTextArea.setText("Connection Failed: Failed to establish database connection.");
             }
-        } catch (SQLException e) {
+        }, e -> {
             showAlert("Connection Error", "Error connecting to database: " + e.getMessage());
             outputTextArea.setText("Connection Error: " + e.getMessage());
+        });
+    }
+
+    // Borrows a pooled connection on the worker thread, runs work there and hands the result
+    // (or the SQLException) back to the FX thread. Tasks run one at a time in submission order.
+    private <T> void runAsync(String description, DatabaseTask<T> work, Consumer<T> onSuccess,
+                              Consumer<SQLException> onError) {
+        runAsync(description, work, onSuccess, onError, null);
+    }
+
+    private <T> void runAsync(String description, DatabaseTask<T> work, Consumer<T> onSuccess,
+                              Consumer<SQLException> onError, Runnable onCancel) {
+        pendingTasks++;
+        progressLabel.setText(description + "...");
+        progressBox.setVisible(true);
+        progressBox.setManaged(true);
+        // Reset here rather than on the worker so a Cancel clicked while this task waits in the
+        // queue still applies when it starts
+        cancelRequested = false;
+
+        dbExecutor.execute(() -> {
+            Platform.runLater(() -> {
+                progressLabel.setText(description + "...");
+                cancelBtn.setDisable(false);
+            });
+            T result = null;
+            SQLException error = null;
+            try (Connection conn = pool.borrow()) {
+                result = work.run(conn);
+            } catch (SQLException e) {
+                error = e;
+            } catch (RuntimeException e) {
+                error = new SQLException(e.getMessage(), e);
+            } finally {
+                runningStatement = null;
+            }
+
+            // A cancel that arrives after the work finished changes nothing, e.g. a DML that already
+            // committed, so it is only reported when the task actually failed
+            boolean cancelled = error != null && cancelRequested;
+            T value = result;
+            SQLException failure = error;
+            Platform.runLater(() -> {
+                if (--pendingTasks == 0) {
+                    progressBox.setVisible(false);
+                    progressBox.setManaged(false);
+                }
+                if (cancelled) {
+                    outputTextArea.setText(description + " cancelled.");
+                    if (onCancel != null) onCancel.run();
+                } else if (failure != null) {
+                    onError.accept(failure);
+                } else {
+                    onSuccess.accept(value);
+                }
+                refreshPoolStats();
+            });
+        });
+    }
+
+    // Statements created by tasks go through here so the Cancel button can reach them
+    private <S extends Statement> S track(S stmt) throws SQLException {
+        runningStatement = stmt;
+        checkCancelled();
+        return stmt;
+    }
+
+    private void checkCancelled() throws SQLException {
+        if (cancelRequested) throw new SQLException("Operation cancelled");
+    }
+
+    private void cancelRunning() {
+        cancelRequested = true;
+        cancelBtn.setDisable(true);
+        progressLabel.setText("Cancelling...");
+        Statement stmt = runningStatement;
+        if (stmt != null) {
+            // cancel() is a round-trip to the server of its own, so keep it off the FX thread as well
+            CompletableFuture.runAsync(() -> {
+                try {
+                    stmt.cancel();
+                } catch (SQLException ignored) {
+                }
+            });
         }
     }
 
+    private void refreshPoolStats() {
+        poolStatsLabel.setText(pool.stats());
+    }
+
     private void clearConsole() {
         queryTextArea.clear();
         outputTextArea.clear();
+        clearResultTable();
+    }
+
+    private void clearResultTable() {
+        activePager = null;
         resultTable.getColumns().clear();
-        resultTable.getItems().clear();
+        resultTable.setItems(FXCollections.observableArrayList());
         deleteSelectedBtn.setVisible(false);
     }
 
@@ -671,27 +1033,22 @@ public class JavaCrudApp extends Application {
         if (insertFieldsContainer != null) insertFieldsContainer.getChildren().clear();
         if (setClauseField != null) setClauseField.clear();
         if (whereClauseField != null) whereClauseField.clear();
-        resultTable.getColumns().clear();
-        resultTable.getItems().clear();
-        deleteSelectedBtn.setVisible(false);
+        clearResultTable();
     }
 
     private void toggleSelectAll() {
         boolean select = selectAllCheckBox.isSelected();
-        for (TableRowData item : resultTable.getItems()) {
-            item.setSelected(select);
+        if (activePager != null) {
+            activePager.rows.setAllSelected(select);
+            // Visible rows hold views of the old state, so let the table fetch fresh ones
+            resultTable.refresh();
         }
     }
 
     private void deleteSelectedRecords() {
-        List<TableRowData> selectedItems = new ArrayList<>();
-        for (TableRowData item : resultTable.getItems()) {
-            if (item.isSelected().get()) {
-                selectedItems.add(item);
-            }
-        }
+        int selectedCount = activePager == null ? 0 : activePager.rows.selectedCount();
 
-        if (selectedItems.isEmpty()) {
+        if (selectedCount == 0) {
             showAlert("No Selection", "No rows selected for deletion.");
             return;
         }
@@ -699,7 +1056,7 @@ public class JavaCrudApp extends Application {
         Alert confirmAlert = new Alert(Alert.AlertType.CONFIRMATION);
         confirmAlert.setTitle("Confirm Deletion");
         confirmAlert.setHeaderText("Delete Selected Rows?");
-        confirmAlert.setContentText("Are you sure you want to delete " + selectedItems.size() + " selected row(s)? This action cannot be undone.");
+        confirmAlert.setContentText("Are you sure you want to delete " + selectedCount + " selected row(s)? This action cannot be undone.");
 
         Optional<ButtonType> result = confirmAlert.showAndWait();
         if (result.isPresent() && result.get() == ButtonType.OK) {
@@ -707,35 +1064,102 @@ public class JavaCrudApp extends Application {
         }
     }
 
+    // Row-major backing store for a SELECT result: one String slot per cell and one bit per row for
+    // the checkbox column. TableRowData objects are thin views made on demand for the rows the
+    // TableView lays out, so memory follows the payload instead of holding properties per cell.
+    static final class ResultRows extends ObservableListBase<TableRowData> {
+        private final int columnCount;
+        private final BitSet selected = new BitSet();
+        private String[] cells = new String[0];
+        private int rowCount;
+
+        ResultRows(int columnCount) {
+            this.columnCount = columnCount;
+        }
+
+        // pageCells holds pageRows rows laid out row-major, as produced by fetchPage
+        void append(String[] pageCells, int pageRows) {
+            if (pageRows == 0) return;
+            int from = rowCount;
+            int needed = (rowCount + pageRows) * columnCount;
+            if (needed > cells.length) cells = Arrays.copyOf(cells, Math.max(needed, cells.length * 2));
+            System.arraycopy(pageCells, 0, cells, rowCount * columnCount, pageRows * columnCount);
+            rowCount += pageRows;
+            beginChange();
+            nextAdd(from, rowCount);
+            endChange();
+        }
+
+        String cell(int row, int column) {
+            return cells[row * columnCount + column];
+        }
+
+        boolean isSelected(int row) {
+            return selected.get(row);
+        }
+
+        void setSelected(int row, boolean value) {
+            selected.set(row, value);
+        }
+
+        void setAllSelected(boolean value) {
+            if (value) selected.set(0, rowCount);
+            else selected.clear();
+        }
+
+        int selectedCount() {
+            return selected.cardinality();
+        }
+
+        @Override
+        public TableRowData get(int index) {
+            Objects.checkIndex(index, rowCount);
+            return new TableRowData(this, index);
+        }
+
+        @Override
+        public int size() {
+            return rowCount;
+        }
+    }
+
+    // View of one row of a ResultRows; properties are only created when a cell asks for them
     public static class TableRowData {
-        private final BooleanProperty selected;
-        private final List<StringProperty> cells;
+        private final ResultRows rows;
+        private final int index;
+        private BooleanProperty selected;
 
-        public TableRowData() {
-            this.selected = new SimpleBooleanProperty(false);
-            this.cells = new ArrayList<>();
-            this.selected.addListener((obs, oldVal, newVal) -> {
-            });
+        TableRowData(ResultRows rows, int index) {
+            this.rows = rows;
+            this.index = index;
         }
 
         public BooleanProperty isSelected() {
+            if (selected == null) {
+                selected = new SimpleBooleanProperty(rows.isSelected(index));
+                selected.addListener((obs, oldVal, newVal) -> rows.setSelected(index, newVal));
+            }
             return selected;
         }
 
         public void setSelected(boolean selected) {
-            this.selected.set(selected);
+            rows.setSelected(index, selected);
+            if (this.selected != null) this.selected.set(selected);
         }
 
-        public List<StringProperty> getCells() {
-            return cells;
+        public StringProperty getCell(int column) {
+            return new SimpleStringProperty(rows.cell(index, column));
         }
 
-        public StringProperty getCell(int index) {
-            return cells.get(index);
+        // Views are recreated freely, so the TableView must see two views of one row as equal
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof TableRowData other && other.rows == rows && other.index == index;
         }
 
-        public void addCell(String value) {
-            cells.add(new SimpleStringProperty(value));
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(rows) + index;
         }
     }
 
@@ -764,30 +1188,40 @@ public class JavaCrudApp extends Application {
     }
 
     private void executeQuery() {
-        String sqlQuery = generateQuery();
-        queryTextArea.setText(sqlQuery); 
+        BoundSql query = generateQuery();
 
-        if (sqlQuery == null || sqlQuery.trim().isEmpty()) {
+        if (query == null || query.sql().trim().isEmpty()) {
+            queryTextArea.setText(null);
             outputTextArea.setText("Error: No query generated. Please complete the form.");
             return;
         }
-
-        try (Connection conn = DriverManager.getConnection(DB_URL, DB_USER, currentDbPassword)) {
-            if (currentOperation.equals("select")) {
-                executeSelect(conn, sqlQuery);
-            } else {
-                executeDML(conn, sqlQuery);
-            }
-            loadUserTables(); 
-        } catch (SQLException e) {
+        DatabaseTask<Runnable> work;
+        if (currentOperation.equals("select")) {
+            ResultPager pager = new ResultPager(query, FETCH_SIZE, MAX_RESULT_ROWS);
+            // Shows the first page's statement; later pages only change the two window binds
+            queryTextArea.setText(pager.pageQuery(pager.nextLimit()).describe());
+            work = conn -> executeSelect(conn, pager);
+        } else {
+            queryTextArea.setText(query.describe());
+            boolean ddl = switch (currentOperation) {
+                case "create", "truncate", "drop" -> true;
+                default -> false;
+            };
+            work = conn -> executeDML(conn, query, ddl);
+        }
+        runAsync("Executing query", work, Runnable::run, e -> {
             outputTextArea.setText("Error executing query: " + e.getMessage());
             showAlert("Execution Error", "Failed to execute query: " + e.getMessage());
-        }
+        });
+        loadUserTables(false);
     }
 
-    private String generateQuery() {
+    // User-entered values become bind variables; table and column names cannot be bound and
+    // still come from the dropdowns and form fields.
+    private BoundSql generateQuery() {
         String tableName;
         StringBuilder queryBuilder = new StringBuilder();
+        List<Object> binds = new ArrayList<>();
 
         switch (currentOperation) {
             case "create":
@@ -824,7 +1258,7 @@ public class JavaCrudApp extends Application {
                 }
 
                 List<String> columns = new ArrayList<>();
-                List<String> values = new ArrayList<>();
+                List<String> placeholders = new ArrayList<>();
                 VBox container = insertFieldsContainer;
                 for (javafx.scene.Node node : container.getChildren()) {
                     if (node instanceof HBox) {
@@ -832,16 +1266,20 @@ public class JavaCrudApp extends Application {
                         Label colLabel = (Label) fieldRow.getChildren().get(0);
                         VBox fieldInfo = (VBox) fieldRow.getChildren().get(1);
                         TextField valueField = (TextField) fieldInfo.getChildren().get(0);
+                        Label typeLabel = (Label) fieldInfo.getChildren().get(1);
 
                         String columnName = colLabel.getText();
                         String value = valueField.getText();
 
                         if (!columnName.isEmpty()) {
                             columns.add(columnName);
-                            if (value.matches("-?\\d+(\\.\\d+)?")) { 
-                                values.add(value);
+                            placeholders.add("?");
+                            // Numbers go to numeric columns as numbers; everything else is bound as
+                            // text so e.g. a VARCHAR2 '007' keeps its leading zeros
+                            if (isNumericType(typeLabel.getText()) && value.matches("-?\\d+(\\.\\d+)?")) {
+                                binds.add(new BigDecimal(value));
                             } else {
-                                values.add("'" + value + "'"); 
+                                binds.add(value);
                             }
                         }
                     }
@@ -854,7 +1292,7 @@ public class JavaCrudApp extends Application {
 
                 queryBuilder.append("INSERT INTO ").append(tableName).append(" (")
                             .append(String.join(", ", columns)).append(") VALUES (")
-                            .append(String.join(", ", values)).append(")");
+                            .append(String.join(", ", placeholders)).append(")");
                 break;
 
             case "select":
@@ -864,9 +1302,10 @@ public class JavaCrudApp extends Application {
                     return null;
                 }
                 queryBuilder.append("SELECT * FROM ").append(tableName);
-                String whereClauseSelect = whereClauseField.getText().trim();
-                if (!whereClauseSelect.isEmpty()) {
-                    queryBuilder.append(" WHERE ").append(whereClauseSelect);
+                BoundSql whereSelect = BoundSql.parameterize(whereClauseField.getText().trim());
+                if (!whereSelect.sql().isEmpty()) {
+                    queryBuilder.append(" WHERE ").append(whereSelect.sql());
+                    binds.addAll(whereSelect.binds());
                 }
                 break;
 
@@ -879,8 +1318,12 @@ public class JavaCrudApp extends Application {
                     showAlert("Missing Input", "Please select a table, SET clause, and WHERE clause for UPDATE operation.");
                     return null;
                 }
-                queryBuilder.append("UPDATE ").append(tableName).append(" SET ").append(setClause)
-                            .append(" WHERE ").append(whereClauseUpdate);
+                BoundSql set = BoundSql.parameterize(setClause);
+                BoundSql whereUpdate = BoundSql.parameterize(whereClauseUpdate);
+                queryBuilder.append("UPDATE ").append(tableName).append(" SET ").append(set.sql())
+                            .append(" WHERE ").append(whereUpdate.sql());
+                binds.addAll(set.binds());
+                binds.addAll(whereUpdate.binds());
                 break;
 
             case "delete":
@@ -891,7 +1334,9 @@ public class JavaCrudApp extends Application {
                     showAlert("Missing Input", "Please select a table and WHERE clause for DELETE operation.");
                     return null;
                 }
-                queryBuilder.append("DELETE FROM ").append(tableName).append(" WHERE ").append(whereClauseDelete);
+                BoundSql whereDelete = BoundSql.parameterize(whereClauseDelete);
+                queryBuilder.append("DELETE FROM ").append(tableName).append(" WHERE ").append(whereDelete.sql());
+                binds.addAll(whereDelete.binds());
                 break;
 
             case "truncate":
@@ -916,59 +1361,138 @@ public class JavaCrudApp extends Application {
                 outputTextArea.setText("Please select an operation.");
                 return null;
         }
-        return queryBuilder.toString();
+        return new BoundSql(queryBuilder.toString(), binds);
     }
 
-    private void executeDML(Connection conn, String sqlQuery) throws SQLException {
-        try (Statement stmt = conn.createStatement()) {
-            int rowsAffected = stmt.executeUpdate(sqlQuery);
+    private static boolean isNumericType(String typeName) {
+        return typeName.startsWith("NUMBER") || typeName.startsWith("FLOAT") || typeName.startsWith("INTEGER")
+                || typeName.startsWith("BINARY_");
+    }
+
+    // Runs on the worker thread; the returned Runnable updates the UI on the FX thread
+    // DDL has nothing to bind and is rarely repeated, so it skips the statement cache
+    private Runnable executeDML(Connection conn, BoundSql query, boolean ddl) throws SQLException {
+        int rowsAffected;
+        if (ddl) {
+            try (Statement stmt = track(conn.createStatement())) {
+                rowsAffected = stmt.executeUpdate(query.sql());
+            }
+        } else {
+            try (PreparedStatement stmt = track(conn.prepareStatement(query.sql()))) {
+                query.bindTo(stmt, 1);
+                rowsAffected = stmt.executeUpdate();
+            }
+        }
+        return () -> {
             outputTextArea.setText("Query executed successfully.\nRows affected: " + rowsAffected);
             showAlert("Success", "Operation completed successfully.\nRows affected: " + rowsAffected);
-        }
+        };
     }
 
-    private void executeSelect(Connection conn, String sqlQuery) throws SQLException {
-        resultTable.getColumns().clear();
-        resultTable.getItems().clear();
-        deleteSelectedBtn.setVisible(false); 
-
-        try (Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sqlQuery)) {
-
-            ResultSetMetaData metaData = rs.getMetaData();
-            int columnCount = metaData.getColumnCount();
-
-            TableColumn<TableRowData, Boolean> selectColumn = new TableColumn<>("");
-            selectColumn.setPrefWidth(30);
-            selectColumn.setResizable(false);
-            selectColumn.setCellValueFactory(param -> param.getValue().isSelected());
-            selectColumn.setCellFactory(CheckBoxTableCell.forTableColumn(selectColumn));
-            resultTable.getColumns().add(selectColumn);
-
-            for (int i = 1; i <= columnCount; i++) {
-                final int columnIndex = i - 1; 
-                TableColumn<TableRowData, String> column = new TableColumn<>(metaData.getColumnName(i));
-                column.setCellValueFactory(param -> param.getValue().getCell(columnIndex));
-                resultTable.getColumns().add(column);
-            }
+    // Runs on the worker thread; only the first page is read before the result is shown
+    private Runnable executeSelect(Connection conn, ResultPager pager) throws SQLException {
+        ResultPage page = fetchPage(conn, pager);
+        return () -> showSelectResult(pager, page);
+    }
 
-            while (rs.next()) {
-                TableRowData rowData = new TableRowData();
-                for (int i = 1; i <= columnCount; i++) {
-                    rowData.addCell(rs.getString(i));
+    // Runs on the worker thread. Each page is a short query for the next window of rows,
+    // so no cursor or pooled connection stays open while the user reads the table.
+    private ResultPage fetchPage(Connection conn, ResultPager pager) throws SQLException {
+        int limit = pager.nextLimit();
+        BoundSql page = pager.pageQuery(limit);
+        try (PreparedStatement stmt = track(conn.prepareStatement(page.sql()))) {
+            stmt.setFetchSize(limit + 1);
+            page.bindTo(stmt, 1);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                ResultSetMetaData metaData = rs.getMetaData();
+                // The last column is the window's row number; it is not displayed
+                int width = metaData.getColumnCount() - 1;
+                List<String> columnNames = new ArrayList<>(width);
+                for (int i = 1; i <= width; i++) {
+                    columnNames.add(metaData.getColumnName(i));
                 }
-                resultTable.getItems().add(rowData);
-            }
 
-            if (resultTable.getItems().isEmpty()) {
-                outputTextArea.setText("Query executed successfully. No records found.");
-            } else {
-                outputTextArea.setText("Query executed successfully. " + resultTable.getItems().size() + " records retrieved.");
-                deleteSelectedBtn.setVisible(true); 
+                String[] cells = new String[limit * width];
+                int rowCount = 0;
+                while (rowCount < limit && rs.next()) {
+                    checkCancelled();
+                    for (int i = 1; i <= width; i++) {
+                        cells[rowCount * width + i - 1] = rs.getString(i);
+                    }
+                    rowCount++;
+                }
+                return new ResultPage(columnNames, cells, rowCount, rowCount < limit);
             }
         }
     }
 
+    private void showSelectResult(ResultPager pager, ResultPage page) {
+        clearResultTable();
+
+        TableColumn<TableRowData, Boolean> selectColumn = new TableColumn<>("");
+        selectColumn.setPrefWidth(30);
+        selectColumn.setResizable(false);
+        selectColumn.setSortable(false);
+        selectColumn.setCellValueFactory(param -> param.getValue().isSelected());
+        selectColumn.setCellFactory(CheckBoxTableCell.forTableColumn(selectColumn));
+        resultTable.getColumns().add(selectColumn);
+
+        List<String> columnNames = page.columnNames();
+        for (int i = 0; i < columnNames.size(); i++) {
+            final int columnIndex = i; 
+            TableColumn<TableRowData, String> column = new TableColumn<>(columnNames.get(i));
+            column.setCellValueFactory(param -> param.getValue().getCell(columnIndex));
+            // ResultRows is read-only and only holds the pages loaded so far, so TableView's
+            // client-side sort cannot work; order the rows with ORDER BY in the query instead
+            column.setSortable(false);
+            resultTable.getColumns().add(column);
+        }
+
+        pager.rows = new ResultRows(columnNames.size());
+        resultTable.setItems(pager.rows);
+        activePager = pager;
+        appendPage(pager, page);
+    }
+
+    private void appendPage(ResultPager pager, ResultPage page) {
+        pager.loading = false;
+        if (pager != activePager) return;
+
+        pager.loadedRows += page.rowCount();
+        pager.exhausted = page.last() || pager.loadedRows >= pager.maxRows;
+        pager.rows.append(page.cells(), page.rowCount());
+
+        if (resultTable.getItems().isEmpty()) {
+            outputTextArea.setText("Query executed successfully. No records found.");
+        } else if (!pager.exhausted) {
+            outputTextArea.setText("Query executed successfully. " + pager.loadedRows
+                    + " records loaded, more are fetched as you scroll.");
+        } else if (page.last()) {
+            outputTextArea.setText("Query executed successfully. " + pager.loadedRows + " records retrieved.");
+        } else {
+            outputTextArea.setText("Query executed successfully. Showing the first " + pager.loadedRows
+                    + " records (result limit reached). Narrow the WHERE clause to see the rest.");
+        }
+        deleteSelectedBtn.setVisible(!resultTable.getItems().isEmpty());
+    }
+
+    // Called as table rows are laid out; starts loading the next page once a row within
+    // PREFETCH_ROWS of the end becomes visible.
+    private void loadMoreIfNear(int rowIndex) {
+        ResultPager pager = activePager;
+        if (pager == null || pager.loading || pager.exhausted) return;
+        if (rowIndex < 0 || rowIndex < resultTable.getItems().size() - PREFETCH_ROWS) return;
+
+        pager.loading = true;
+        // Deferred so the progress box is not toggled in the middle of a layout pass
+        Platform.runLater(() -> runAsync("Loading more rows", conn -> fetchPage(conn, pager),
+                page -> appendPage(pager, page), e -> {
+                    pager.exhausted = true;
+                    outputTextArea.setText("Error loading more rows: " + e.getMessage());
+                }, () -> pager.exhausted = true));
+    }
+
     public static void main(String[] args) {
         launch(args);
     }
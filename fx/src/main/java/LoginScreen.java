@@ -10,8 +10,6 @@ import javafx.scene.text.FontWeight;
 import javafx.scene.text.Text;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
-import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 
 public class LoginScreen {
@@ -22,6 +20,7 @@ public class LoginScreen {
     private String dbUser;
     private String dbUrl;
     private boolean loginSuccessful = false;
+    private ConnectionPool pool;
 
     public LoginScreen(String dbUser, String dbUrl) {
         this.dbUser = dbUser;
@@ -100,13 +99,13 @@ public class LoginScreen {
                 return;
             }
 
-            try (Connection conn = DriverManager.getConnection(dbUrl, username, password)) {
-                if (conn != null) {
-                    actiontarget.setText("Login Successful!");
-                    actiontarget.setStyle("-fx-fill: green; -fx-font-size: 14px;");
-                    loginSuccessful = true;
-                    primaryStage.close();
-                }
+            // The pool opens its first connection eagerly, so creating it is the login check
+            try {
+                pool = new ConnectionPool(dbUrl, username, password);
+                actiontarget.setText("Login Successful!");
+                actiontarget.setStyle("-fx-fill: green; -fx-font-size: 14px;");
+                loginSuccessful = true;
+                primaryStage.close();
             } catch (SQLException ex) {
                 actiontarget.setText("Login Failed: " + ex.getMessage());
                 loginSuccessful = false;
@@ -131,4 +130,8 @@ public class LoginScreen {
     public String getPassword() {
         return passwordField.getText();
     }
+
+    public ConnectionPool getPool() {
+        return pool;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,159 @@
+import javafx.application.Application;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Scene;
+import javafx.scene.control.*;
+import javafx.scene.control.Button;
+import javafx.scene.layout.*;
+import javafx.stage.Stage;
+
+public class Unified_Calc_FX extends Application {
+
+    private Unified_Calc.Calculator calc;
+    private final Unified_Calc.RingBufferTrace trace = new Unified_Calc.RingBufferTrace(200);
+    private final Unified_Calc.IncrementalEvaluator live = new Unified_Calc.IncrementalEvaluator();
+    private Label resultLabel;
+    private TextArea outputArea;
+    private TextField inputField;
+
+    @Override
+    public void start(Stage primaryStage) {
+        primaryStage.setTitle("Unified Calculator");
+
+        // Data Structure Selection
+        ChoiceBox<String> dsChoiceBox = new ChoiceBox<>();
+        dsChoiceBox.getItems().addAll("Array", "LinkedList", "Queue", "Compiled", "Primitive");
+        dsChoiceBox.setValue("Array"); // Default selection
+
+        // Input Field
+        inputField = new TextField();
+        inputField.setPromptText("Enter expression");
+
+        // Result Label
+        resultLabel = new Label("Result: ");
+
+        // Live result on every edit; only the changed tail of the text is re-parsed
+        inputField.textProperty().addListener((obs, oldText, newText) -> {
+            live.update(newText);
+            String preview = live.preview();
+            resultLabel.setText("Result: " + (preview == null ? "" : preview));
+        });
+
+        // Output Area
+        outputArea = new TextArea();
+        outputArea.setEditable(false);
+
+        // Buttons
+        GridPane buttonGrid = new GridPane();
+        buttonGrid.setAlignment(Pos.CENTER);
+        buttonGrid.setHgap(10);
+        buttonGrid.setVgap(10);
+        buttonGrid.setPadding(new Insets(10, 10, 10, 10));
+
+        String[] buttonLabels = {
+                "7", "8", "9", "/",
+                "4", "5", "6", "*",
+                "1", "2", "3", "-",
+                "0", ".", "=", "+",
+                "(", ")", "%", "Backspace", "Clear" // Added Backspace
+        };
+
+        int row = 0, col = 0;
+        for (String label : buttonLabels) {
+            Button button = new Button(label);
+            button.setPrefWidth(50);
+            button.setOnAction(e -> handleButtonPress(label));
+            buttonGrid.add(button, col, row);
+            col++;
+            if (col > 3) { // Changed to accommodate new buttons if needed, or adjust grid
+                col = 0;
+                row++;
+            }
+        }
+
+        // Evaluate Button (already part of buttonGrid now with "=")
+        // No need for a separate evaluate button. The "=" button handles it.
+
+        // Layout
+        VBox mainLayout = new VBox(10);
+        mainLayout.setPadding(new Insets(10, 10, 10, 10));
+        mainLayout.getChildren().addAll(
+                new Label("Choose Data Structure:"),
+                dsChoiceBox,
+                inputField,
+                buttonGrid,
+                resultLabel,
+                outputArea
+        );
+
+        // Data Structure Choice Listener
+        dsChoiceBox.getSelectionModel().selectedItemProperty().addListener((obs, oldVal, newVal) -> {
+            switch (newVal) {
+                case "Array" -> calc = new Unified_Calc.ArrayCalculator();
+                case "LinkedList" -> calc = new Unified_Calc.LinkedListCalculator();
+                case "Queue" -> calc = new Unified_Calc.QueueCalculator();
+                case "Compiled" -> calc = new Unified_Calc.CompiledCalculator();
+                case "Primitive" -> calc = new Unified_Calc.PrimitiveCalculator();
+            }
+            calc.trace = trace;
+            outputArea.appendText("Switched to " + newVal + ".\n");
+        });
+
+        // Initial Calculator Setup
+        calc = new Unified_Calc.ArrayCalculator(); // Default calculator
+        calc.trace = trace;
+        outputArea.appendText("Using Array as default.\n");
+
+        Scene scene = new Scene(mainLayout, 400, 600);
+        primaryStage.setScene(scene);
+        primaryStage.show();
+    }
+
+    private void handleButtonPress(String label) {
+        switch (label) {
+            case "=":
+                evaluateExpression();
+                break;
+            case "Clear":
+                inputField.clear();
+                break;
+            case "Backspace": // Handle backspace
+                String currentText = inputField.getText();
+                if (currentText.length() > 0) {
+                    inputField.setText(currentText.substring(0, currentText.length() - 1));
+                }
+                break;
+            default:
+                inputField.appendText(label);
+                break;
+        }
+    }
+
+    private void evaluateExpression() {
+        String input = Unified_Calc.Calculator.normalize(inputField.getText());
+
+        int invalidAt = Unified_Calc.Calculator.invalidIndex(input);
+        if (invalidAt >= 0) {
+            outputArea.appendText("Invalid expression at position " + (invalidAt + 1) + ". Please re-enter. Check for:\n");
+            outputArea.appendText("- Only numbers, + - * / % . ( ) allowed\n");
+            outputArea.appendText("- No alphabets or symbols\n");
+            outputArea.appendText("- Balanced parentheses\n");
+            outputArea.appendText("- No trailing or repeating operators\n");
+            return;
+        }
+
+        try {
+            Unified_Calc.NumberWrapper result = calc.evaluate(input);
+            resultLabel.setText("Result: " + result);
+        } catch (Exception e) {
+            outputArea.appendText("Error: " + e.getMessage() + "\n");
+            resultLabel.setText("Result: Error");
+        } finally {
+            trace.drainTo(line -> outputArea.appendText(line + "\n"));
+        }
+    }
+
+    public static void main(String[] args) {
+        launch(args);
+    }
+}
@@ -0,0 +1,77 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import oracle.jdbc.OracleTypes;
+import org.junit.jupiter.api.Test;
+
+class BoundSqlTest {
+    static JavaCrudApp.BoundSql parameterize(String clause) {
+        return JavaCrudApp.BoundSql.parameterize(clause);
+    }
+
+    @Test
+    void bindsValueLiterals() {
+        JavaCrudApp.BoundSql bound = parameterize("ID > 10 AND NAME LIKE '%John%'");
+        assertEquals("ID > ? AND NAME LIKE ?", bound.sql());
+        assertEquals(List.of(new BigDecimal("10"), "%John%"), bound.binds());
+
+        bound = parameterize("x IN (1, 2, 'a') OR NAME = 'O''Brien'");
+        assertEquals("x IN (?, ?, ?) OR NAME = ?", bound.sql());
+        assertEquals(List.of(new BigDecimal("1"), new BigDecimal("2"), "a", "O'Brien"), bound.binds());
+
+        assertEquals("NVL(x, 0) = -?", parameterize("NVL(x, 0) = -5").sql());
+        assertEquals("COL1 = ? AND ROUND(x + ?, 2) = ?", parameterize("COL1 = 2e3 AND ROUND(x + 1, 2) = 4").sql());
+        assertEquals("dept = ? ORDER BY 2", parameterize("dept = 10 ORDER BY 2").sql());
+    }
+
+    // Every item of a BY list may be a column position, not only the first
+    @Test
+    void leavesByListPositionsAlone() {
+        JavaCrudApp.BoundSql bound = parameterize("dept = 10 ORDER BY name, 2");
+        assertEquals("dept = ? ORDER BY name, 2", bound.sql());
+        assertEquals(List.of(new BigDecimal("10")), bound.binds());
+        assertEquals("x = ? GROUP BY a, 2 HAVING COUNT(*) > ?", parameterize("x = 1 GROUP BY a, 2 HAVING COUNT(*) > 5").sql());
+        assertEquals("ORDER BY 1 DESC, 3, x + ?", parameterize("ORDER BY 1 DESC, 3, x + 1").sql());
+        // The list ends with its clause or its parentheses
+        assertEquals("x IN (SELECT y FROM t ORDER BY 1, 2) AND z IN (?, ?)",
+                parameterize("x IN (SELECT y FROM t ORDER BY 1, 2) AND z IN (3, 4)").sql());
+    }
+
+    @Test
+    void leavesSyntaxLiteralsAlone() {
+        assertEquals("HIRED > DATE '2020-01-01'", parameterize("HIRED > DATE '2020-01-01'").sql());
+        assertEquals("TO_DATE('2020-01-01','YYYY-MM-DD') < HIRED", parameterize("TO_DATE('2020-01-01','YYYY-MM-DD') < HIRED").sql());
+        assertEquals("CAST(x AS NUMBER(10,2)) = ?", parameterize("CAST(x AS NUMBER(10,2)) = 3.5").sql());
+        assertEquals("\"Col 1\" = ?", parameterize("\"Col 1\" = 7").sql());
+        // Comments, prefixed quotes and unterminated quotes are not parsed at all
+        for (String clause : List.of("x = 1 -- c", "NAME = N'x'", "NAME = 'unterminated")) {
+            assertEquals(JavaCrudApp.BoundSql.of(clause), parameterize(clause), clause);
+        }
+    }
+
+    // Text must go in as FIXED_CHAR so CHAR(n) columns keep blank-padded comparison
+    @Test
+    void bindsTextAsFixedChar() throws SQLException {
+        List<String> calls = new ArrayList<>();
+        PreparedStatement stmt = (PreparedStatement) Proxy.newProxyInstance(BoundSqlTest.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class}, (proxy, method, args) -> {
+                    calls.add(method.getName() + List.of(args));
+                    return null;
+                });
+        JavaCrudApp.BoundSql bound = parameterize("code = 'AB' AND qty > 3");
+        assertEquals(4, bound.bindTo(stmt, 2));
+        assertEquals(List.of("setObject[2, AB, " + OracleTypes.FIXED_CHAR + "]", "setObject[3, 3]"), calls);
+    }
+
+    @Test
+    void describeListsBinds() {
+        assertEquals("NAME = ? AND ID = ?\n-- binds: :1 = 'O''Brien', :2 = 7",
+                parameterize("NAME = 'O''Brien' AND ID = 7").describe());
+        assertEquals("? = ?\n-- binds: :1 = 1, :2 = 1", parameterize("1 = 1").describe());
+    }
+}
@@ -0,0 +1,169 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.DriverPropertyInfo;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+// Runs the pool against an in-memory driver that only counts what it is asked to do
+class ConnectionPoolTest {
+    static final String URL = "jdbc:fake:pool";
+
+    static final AtomicInteger physicalOpen = new AtomicInteger();
+    static final AtomicInteger prepared = new AtomicInteger();
+    static volatile boolean invalid;
+    static Driver driver;
+
+    @BeforeAll
+    static void registerDriver() throws SQLException {
+        driver = new Driver() {
+            @Override
+            public Connection connect(String url, Properties info) throws SQLException {
+                if (!acceptsURL(url)) return null;
+                if (!"pw".equals(info.getProperty("password"))) throw new SQLException("bad password");
+                physicalOpen.incrementAndGet();
+                boolean[] closed = {false};
+                return (Connection) Proxy.newProxyInstance(ConnectionPoolTest.class.getClassLoader(),
+                        new Class<?>[]{Connection.class}, (proxy, method, args) -> switch (method.getName()) {
+                            case "close" -> {
+                                if (!closed[0]) physicalOpen.decrementAndGet();
+                                closed[0] = true;
+                                yield null;
+                            }
+                            case "isClosed" -> closed[0];
+                            case "isValid" -> !invalid;
+                            case "getAutoCommit" -> true;
+                            case "prepareStatement" -> {
+                                prepared.incrementAndGet();
+                                yield Proxy.newProxyInstance(ConnectionPoolTest.class.getClassLoader(),
+                                        new Class<?>[]{PreparedStatement.class}, (p, m, a) -> m.getName().equals("executeUpdate") ? 1 : null);
+                            }
+                            default -> null;
+                        });
+            }
+
+            @Override
+            public boolean acceptsURL(String url) { return url.startsWith("jdbc:fake"); }
+
+            @Override
+            public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) { return new DriverPropertyInfo[0]; }
+
+            @Override
+            public int getMajorVersion() { return 1; }
+
+            @Override
+            public int getMinorVersion() { return 0; }
+
+            @Override
+            public boolean jdbcCompliant() { return false; }
+
+            @Override
+            public Logger getParentLogger() { return null; }
+        };
+        DriverManager.registerDriver(driver);
+    }
+
+    @AfterAll
+    static void deregisterDriver() throws SQLException {
+        DriverManager.deregisterDriver(driver);
+    }
+
+    @Test
+    void badCredentialsFailInConstructor() {
+        SQLException e = assertThrows(SQLException.class, () -> new ConnectionPool(URL, "u", "wrong"));
+        assertEquals("bad password", e.getMessage());
+    }
+
+    @Test
+    void neverExceedsMaxSize() throws Exception {
+        int before = physicalOpen.get();
+        AtomicInteger active = new AtomicInteger(), maxActive = new AtomicInteger();
+        ExecutorService threads = Executors.newFixedThreadPool(10);
+        try (ConnectionPool pool = new ConnectionPool(URL, "u", "pw", 1, 3, 10_000, 60_000)) {
+            List<Future<?>> calls = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                calls.add(threads.submit(() -> {
+                    try (Connection c = pool.borrow()) {
+                        assertFalse(c.isClosed());
+                        maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+                        Thread.sleep(1);
+                        active.decrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> call : calls) call.get();
+            assertTrue(maxActive.get() <= 3, "max active " + maxActive);
+            assertTrue(physicalOpen.get() - before <= 3);
+        } finally {
+            threads.shutdown();
+        }
+        assertEquals(before, physicalOpen.get());
+    }
+
+    @Test
+    void closedLeaseCannotBeUsed() throws Exception {
+        try (ConnectionPool pool = new ConnectionPool(URL, "u", "pw", 1, 2, 10_000, 60_000)) {
+            Connection c = pool.borrow();
+            c.close();
+            c.close();
+            assertThrows(SQLException.class, c::getAutoCommit);
+            assertTrue(pool.stats().startsWith("Pool: 0 active, 1 idle"), pool.stats());
+        }
+    }
+
+    @Test
+    void invalidIdleConnectionsAreReplaced() throws Exception {
+        try (ConnectionPool pool = new ConnectionPool(URL, "u", "pw", 1, 2, 10_000, 60_000)) {
+            // Past the bypass window the pool asks isValid before lending a connection out
+            Thread.sleep(ConnectionPool.VALIDATION_BYPASS_MILLIS + 100);
+            invalid = true;
+            try (Connection c = pool.borrow()) {
+                invalid = false;
+                assertTrue(c.isValid(1));
+            } finally {
+                invalid = false;
+            }
+            assertTrue(pool.stats().contains("invalid 1"), pool.stats());
+        }
+    }
+
+    @Test
+    void statementsAreCachedPerConnection() throws Exception {
+        try (ConnectionPool pool = new ConnectionPool(URL, "u", "pw", 1, 1, 10_000, 60_000)) {
+            int before = prepared.get();
+            try (Connection c = pool.borrow()) {
+                for (int k = 0; k < 100; k++) {
+                    try (PreparedStatement ps = c.prepareStatement("S" + (k % 5))) {
+                        ps.setString(1, "x");
+                        assertEquals(1, ps.executeUpdate());
+                    }
+                }
+                // The same SQL open twice at once needs two statements
+                try (PreparedStatement a = c.prepareStatement("A"); PreparedStatement b = c.prepareStatement("A")) {
+                    assertNotSame(a, b);
+                }
+            }
+            assertEquals(7, prepared.get() - before);
+            assertTrue(pool.stats().contains("statement cache 95 hits, 7 misses"), pool.stats());
+        }
+    }
+}